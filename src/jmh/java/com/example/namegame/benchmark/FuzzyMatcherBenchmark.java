@@ -0,0 +1,75 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.model.ScoredMatch;
+import com.example.namegame.service.ConfusableIndex;
+import com.example.namegame.service.FuzzyMatcher;
+import com.example.namegame.service.NameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy matching of one misspelled photo name against rosters of growing size.
+ * The roster's index is built once per trial, as in the app, and building it
+ * is measured separately, as is building the similar-name index for hard distractors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FuzzyMatcherBenchmark {
+    private static final int QUERY_COUNT = 256;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int students;
+
+    private Map<String, String> squashedToOriginal;
+    private String[] queries;
+    private FuzzyMatcher matcher;
+    private NameIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        squashedToOriginal = new HashMap<>();
+        for (String name : SyntheticData.rosterNames(students)) {
+            squashedToOriginal.put(FuzzyMatcher.squashRosterName(name), name);
+        }
+
+        // Mostly near misses, plus some names that match nothing
+        List<String> keys = List.copyOf(squashedToOriginal.keySet());
+        Random random = new Random(7);
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            queries[i] = i % 8 == 0 ? new StringBuilder(key).reverse().toString() : SyntheticData.misspell(key, random);
+        }
+
+        matcher = new FuzzyMatcher();
+        index = NameIndex.build(squashedToOriginal);
+    }
+
+    @Benchmark
+    public List<ScoredMatch> findMatches() {
+        String query = queries[next++ & (QUERY_COUNT - 1)];
+        return matcher.findMatches(query, index);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NameIndex buildIndex() {
+        return NameIndex.build(squashedToOriginal);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConfusableIndex buildConfusables() {
+        return ConfusableIndex.build(squashedToOriginal);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.model.GameMode;
+import com.example.namegame.model.GameSession;
+import com.example.namegame.model.GameStatistics;
+import com.example.namegame.model.SpacedRepetitionScheduler;
+import com.example.namegame.model.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starting a game over all students, alone and followed by the first
+ * multiple choice questions with their distractors, in shuffled and in
+ * spaced repetition order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSessionBenchmark {
+    private static final int QUESTIONS = 20;
+    private static final int DISTRACTORS = 3;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int students;
+
+    private List<Student> roster;
+    private GameStatistics stats;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = SyntheticData.students(SyntheticData.rosterNames(students));
+
+        // Half the roster has history: varying streaks, misses and last answer times
+        now = System.currentTimeMillis();
+        stats = new GameStatistics();
+        Random random = new Random(students);
+        for (int i = 0; i < roster.size(); i += 2) {
+            long answeredAt = now - random.nextInt(30) * TimeUnit.DAYS.toMillis(1);
+            for (int answer = 1 + random.nextInt(10); answer > 0; answer--) {
+                stats.recordAnswer(roster.get(i).id(), random.nextInt(4) != 0, answeredAt);
+            }
+        }
+    }
+
+    @Benchmark
+    public GameSession construct() {
+        return new GameSession(GameMode.MULTIPLE_CHOICE, roster);
+    }
+
+    @Benchmark
+    public void playFirstQuestions(Blackhole blackhole) {
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, roster);
+        for (int i = 0; i < QUESTIONS && !session.isComplete(); i++) {
+            blackhole.consume(session.getDistractors(DISTRACTORS));
+            session.recordCorrect();
+        }
+    }
+
+    /**
+     * Like playFirstQuestions, but every fourth answer is a miss, so missed
+     * students are re-queued.
+     */
+    @Benchmark
+    public void playSpacedRepetition(Blackhole blackhole) {
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, roster,
+            new SpacedRepetitionScheduler(roster, stats, now));
+        for (int i = 0; i < QUESTIONS && !session.isComplete(); i++) {
+            blackhole.consume(session.getDistractors(DISTRACTORS));
+            if (i % 4 == 3) {
+                session.recordIncorrect();
+            } else {
+                session.recordCorrect();
+            }
+        }
+    }
+}
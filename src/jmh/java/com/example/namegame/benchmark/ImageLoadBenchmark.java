@@ -0,0 +1,49 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.ImageService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full load of a photo directory: roster (from its snapshot), directory
+ * listing and matching of every photo. 5% of photo names are misspelled;
+ * their fuzzy results come from the match cache after the first load, as on
+ * every launch after the first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageLoadBenchmark {
+    private static final double MISSPELLED_FRACTION = 0.05;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int students;
+
+    private Path section;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData.useTempDataHome();
+        section = SyntheticData.createSection(SyntheticData.rosterNames(students),
+            SyntheticData.RosterFormat.CSV, MISSPELLED_FRACTION);
+        ConfigService.getInstance().setImagesDirectory(section);
+        // Fills the roster snapshot and match cache
+        ImageService.getInstance().loadImages();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticData.deleteRecursively(section);
+    }
+
+    @Benchmark
+    public boolean loadImages() {
+        return ImageService.getInstance().loadImages();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.model.Student;
+import com.example.namegame.service.FuzzyMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name normalization through {@code NameNormalizer}, against the regex-based
+ * methods it replaced, which are copied here as the {@code legacy*} benchmarks.
+ * Each call normalizes the next of 1024 roster names, photo file names or
+ * typed answers; one name in eight has punctuation, spacing or accents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NameNormalizerBenchmark {
+    private static final int COUNT = 1024;
+    private static final String[][] DECORATED = {
+        {"O'Brien-Smith", "Mary Ann"}, {"Núñez", "Zoë"}, {"van der Berg", "Jan"}, {"St. James", "J.R."}
+    };
+
+    private String[] rosterNames;
+    private String[] filenames;
+    private String[] answers;
+    private String[] firstNames;
+    private String[] lastNames;
+    private Path[] photos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = SyntheticData.rosterNames(COUNT);
+        rosterNames = new String[COUNT];
+        filenames = new String[COUNT];
+        answers = new String[COUNT];
+        firstNames = new String[COUNT];
+        lastNames = new String[COUNT];
+        photos = new Path[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            String[] parts = i % 8 == 0 ? DECORATED[i / 8 % DECORATED.length] : names.get(i).split(", ");
+            lastNames[i] = parts[0];
+            firstNames[i] = parts[1];
+            rosterNames[i] = parts[0] + ", " + parts[1];
+            filenames[i] = parts[0] + parts[1] + "_" + (100000 + i) + ".jpg";
+            // ASCII paths, since the platform encoding may not map accented file names
+            photos[i] = Path.of("photo_" + (100000 + i) + ".jpg");
+            answers[i] = i % 2 == 0 ? parts[1] + " " + parts[0] : parts[0] + ", " + parts[1];
+        }
+    }
+
+    private int nextIndex() {
+        return next++ & (COUNT - 1);
+    }
+
+    @Benchmark
+    public String squashRosterName() {
+        return FuzzyMatcher.squashRosterName(rosterNames[nextIndex()]);
+    }
+
+    @Benchmark
+    public String legacySquashRosterName() {
+        return legacySquashRosterName(rosterNames[nextIndex()]);
+    }
+
+    @Benchmark
+    public String extractNameFromFilename() {
+        return FuzzyMatcher.extractNameFromFilename(filenames[nextIndex()]);
+    }
+
+    @Benchmark
+    public String legacyExtractNameFromFilename() {
+        return legacyExtractNameFromFilename(filenames[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean isNameMatch() {
+        int i = nextIndex();
+        return FuzzyMatcher.isNameMatch(answers[i], firstNames[i], lastNames[i]);
+    }
+
+    @Benchmark
+    public boolean legacyIsNameMatch() {
+        int i = nextIndex();
+        return legacyIsNameMatch(answers[i], firstNames[i], lastNames[i]);
+    }
+
+    /**
+     * Creating a student as a roster load does, which squashes the name once
+     * and finds its ID in {@code StudentIds}; reading the ID later is a field read.
+     */
+    @Benchmark
+    public Student createStudent() {
+        int i = nextIndex();
+        return new Student(firstNames[i], lastNames[i], photos[i]);
+    }
+
+    private static String legacySquashRosterName(String rosterName) {
+        if (rosterName == null || rosterName.isEmpty()) {
+            return "";
+        }
+        String[] parts = rosterName.split(",", 2);
+        String lastName = parts[0].trim();
+        String firstName = parts.length > 1 ? parts[1].trim() : "";
+        return (lastName + firstName)
+            .toLowerCase()
+            .replaceAll("[\\s',.-]", "");
+    }
+
+    private static String legacyExtractNameFromFilename(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        String withoutExt = dotIndex > 0 ? filename.substring(0, dotIndex) : filename;
+        int underscoreIndex = withoutExt.indexOf('_');
+        String namePart = underscoreIndex > 0 ? withoutExt.substring(0, underscoreIndex) : withoutExt;
+        return namePart.toLowerCase().replaceAll("[',.-]", "");
+    }
+
+    private static boolean legacyIsNameMatch(String input, String firstName, String lastName) {
+        if (input == null || input.trim().isEmpty()) {
+            return false;
+        }
+        String normalizedInput = input.trim().toLowerCase().replaceAll("[,.]", " ").replaceAll("\\s+", " ");
+        String firstLast = (firstName + " " + lastName).toLowerCase();
+        String lastFirst = (lastName + " " + firstName).toLowerCase();
+        return normalizedInput.equals(firstLast) || normalizedInput.equals(lastFirst);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.service.RosterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a roster file, either parsed from scratch or restored from the
+ * binary snapshot written by the previous load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RosterLoadBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int students;
+
+    @Param({"xlsx", "csv"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private Path dataDirectory;
+    private Path section;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = SyntheticData.useTempDataHome().resolve(".namegame");
+        section = SyntheticData.createSection(SyntheticData.rosterNames(students),
+            SyntheticData.RosterFormat.valueOf(format.toUpperCase()), 0);
+    }
+
+    @Setup(Level.Invocation)
+    public void dropSnapshot() throws IOException {
+        if (snapshot || !Files.isDirectory(dataDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDirectory, "roster-cache-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SyntheticData.deleteRecursively(section);
+    }
+
+    @Benchmark
+    public boolean loadRoster() {
+        return RosterService.getInstance().loadRoster(section);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.model.Student;
+import com.example.namegame.service.StatisticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting statistics that already hold per-student results for every
+ * student: appending a batch of answers to the journal, and compacting
+ * everything into a fresh statistics.json snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int students;
+
+    private List<Student> roster;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData.useTempDataHome();
+        roster = SyntheticData.students(SyntheticData.rosterNames(students));
+        StatisticsService service = StatisticsService.getInstance();
+        for (Student student : roster) {
+            service.recordAnswer(student, true);
+        }
+        service.prepareForImport();
+    }
+
+    @Benchmark
+    public void recordAndFlush() {
+        StatisticsService service = StatisticsService.getInstance();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            service.recordAnswer(nextStudent(), i % 3 != 0);
+        }
+        service.flush();
+    }
+
+    @Benchmark
+    public void compactSnapshot() {
+        StatisticsService service = StatisticsService.getInstance();
+        service.recordAnswer(nextStudent(), true);
+        service.prepareForImport();
+    }
+
+    private Student nextStudent() {
+        Student student = roster.get(next);
+        next = (next + 1) % roster.size();
+        return student;
+    }
+}
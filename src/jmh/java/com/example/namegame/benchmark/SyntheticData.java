@@ -0,0 +1,182 @@
+package com.example.namegame.benchmark;
+
+import com.example.namegame.model.Student;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Generates reproducible rosters, photo directories and students for benchmarks.
+ * The same size and seed always produce the same names.
+ */
+final class SyntheticData {
+    private static final long SEED = 20240601L;
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cha", "dri", "el", "fa", "gon", "ha", "is", "jo", "ka", "li", "mar",
+        "ne", "o", "pe", "qui", "ro", "sa", "ten", "u", "vi", "wen", "xa", "ya", "zo"
+    };
+
+    private static Path dataHome;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Points the app's data directory at a fresh temp directory. Must be called
+     * before any service is first used, since services resolve it once.
+     */
+    static synchronized Path useTempDataHome() {
+        if (dataHome == null) {
+            try {
+                dataHome = Files.createTempDirectory("namegame-bench-home");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.setProperty("user.home", dataHome.toString());
+            Path created = dataHome;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(created)));
+        }
+        return dataHome;
+    }
+
+    /**
+     * Generates unique roster names in "Last, First" format.
+     */
+    static List<String> rosterNames(int count) {
+        Random random = new Random(SEED);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            names.add(capitalize(word(random, 2, 4)) + ", " + capitalize(word(random, 2, 3)));
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Builds students with photo paths named like the app expects ("LastFirst_id.jpg").
+     */
+    static List<Student> students(List<String> rosterNames) {
+        List<Student> students = new ArrayList<>(rosterNames.size());
+        for (int i = 0; i < rosterNames.size(); i++) {
+            String[] parts = rosterNames.get(i).split(", ");
+            students.add(new Student(parts[1], parts[0], Path.of(photoName(parts[0] + parts[1], i))));
+        }
+        return students;
+    }
+
+    /**
+     * Creates a section directory with a roster and one empty photo file per
+     * student. Matching only looks at file names, so the photos need no content.
+     * @param misspelledFraction Fraction of photos whose name has two letters
+     *                           swapped, so they go through fuzzy matching
+     */
+    static Path createSection(List<String> rosterNames, RosterFormat format, double misspelledFraction) {
+        try {
+            Path directory = Files.createTempDirectory("namegame-bench-section");
+            switch (format) {
+                case XLSX -> writeXlsx(directory.resolve("roster.xlsx"), rosterNames);
+                case CSV -> writeCsv(directory.resolve("roster.csv"), rosterNames);
+            }
+
+            Random random = new Random(SEED);
+            for (int i = 0; i < rosterNames.size(); i++) {
+                String[] parts = rosterNames.get(i).split(", ");
+                String name = parts[0] + parts[1];
+                if (random.nextDouble() < misspelledFraction) {
+                    name = misspell(name, random);
+                }
+                Files.createFile(directory.resolve(photoName(name, i)));
+            }
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Swaps two adjacent letters, leaving the first letter alone.
+     */
+    static String misspell(String name, Random random) {
+        if (name.length() < 3) {
+            return name;
+        }
+        char[] chars = name.toCharArray();
+        int i = 1 + random.nextInt(chars.length - 2);
+        char swapped = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = swapped;
+        return new String(chars);
+    }
+
+    static void deleteRecursively(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeXlsx(Path file, List<String> rosterNames) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Roster");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Student ID");
+            header.createCell(1).setCellValue("Name");
+            for (int i = 0; i < rosterNames.size(); i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(100000 + i);
+                row.createCell(1).setCellValue(rosterNames.get(i));
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    private static void writeCsv(Path file, List<String> rosterNames) throws IOException {
+        StringBuilder sb = new StringBuilder("Student ID,Name\n");
+        for (int i = 0; i < rosterNames.size(); i++) {
+            sb.append(100000 + i).append(",\"").append(rosterNames.get(i)).append("\"\n");
+        }
+        Files.writeString(file, sb, StandardCharsets.UTF_8);
+    }
+
+    private static String photoName(String name, int id) {
+        return name + "_" + id + ".jpg";
+    }
+
+    private static String word(Random random, int minSyllables, int maxSyllables) {
+        int syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    enum RosterFormat {
+        XLSX, CSV
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.namegame;
+
+import com.example.namegame.model.ScoredMatch;
+import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.ImageService;
+import com.example.namegame.service.ImageService.MatchKind;
+import com.example.namegame.service.ImageService.MatchResult;
+import com.example.namegame.service.MappingService;
+import com.example.namegame.service.MatchCacheService;
+import com.example.namegame.service.RosterService;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless entry point that matches a directory of photos against its roster
+ * and writes a JSON report, without starting JavaFX. Meant for large photo
+ * drops, e.g. checking a whole-school import on a server before anyone plays.
+ * <p>
+ * Usage: {@code java -cp student-name-game.jar com.example.namegame.BatchMatchCli
+ * <images-directory> [--report <file>] [--data-dir <dir>] [--save-mappings] [--accept-suggestions]
+ * [--threads <n>]}
+ * <p>
+ * Without {@code --data-dir} the run uses the app's own data directory: it
+ * reads and saves the same manual mappings and match cache, and drops cached
+ * matches for images of the same roster that are no longer in the directory.
+ * <p>
+ * Exits with 0 on success, 1 if the directory or roster can't be read and 2 on bad arguments.
+ */
+public class BatchMatchCli {
+    private static final String USAGE = """
+        Usage: BatchMatchCli <images-directory> [options]
+          --report <file>        Write the JSON report to a file instead of standard output
+          --data-dir <dir>       Keep mappings and the match cache in <dir> instead of the
+                                 app's data directory, so the app's own data is left alone
+          --save-mappings        Save fuzzy matches as manual mappings
+          --accept-suggestions   Also save each unmatched image's best suggestion as a mapping
+          --threads <n>          Number of matching threads (default: all processors)
+        """;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return 2;
+        }
+
+        if (options.dataDirectory() != null) {
+            // Must be set before the first service reads its files
+            System.setProperty(ConfigService.DATA_DIRECTORY_PROPERTY, options.dataDirectory().toString());
+        }
+
+        // Services log progress to standard output; keep it clean for the report
+        PrintStream reportOut = System.out;
+        if (options.report() == null) {
+            System.setOut(System.err);
+        }
+        try {
+            return match(options, reportOut);
+        } finally {
+            System.setOut(reportOut);
+        }
+    }
+
+    private static int match(Options options, PrintStream reportOut) {
+        Path directory = options.directory().toAbsolutePath().normalize();
+        if (!Files.isDirectory(directory)) {
+            System.err.println("Not a directory: " + directory);
+            return 1;
+        }
+
+        long rosterStart = System.nanoTime();
+        if (!RosterService.getInstance().loadRoster(directory)) {
+            System.err.println("No readable roster in " + directory);
+            return 1;
+        }
+        long rosterNanos = System.nanoTime() - rosterStart;
+
+        List<MatchResult> results;
+        long matchStart = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(options.threads());
+        try {
+            results = ImageService.getInstance().matchDirectory(directory, pool);
+        } catch (IOException e) {
+            System.err.println("Failed to list directory: " + e.getMessage());
+            return 1;
+        } finally {
+            pool.shutdown();
+        }
+        long matchNanos = System.nanoTime() - matchStart;
+        MatchCacheService.getInstance().save();
+
+        Report report = buildReport(directory, options, results, rosterNanos, matchNanos);
+        if (options.saveMappings() || options.acceptSuggestions()) {
+            saveMappings(results, options.acceptSuggestions());
+        }
+
+        String json = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(report);
+        if (options.report() != null) {
+            try {
+                Files.writeString(options.report(), json);
+            } catch (IOException e) {
+                System.err.println("Failed to write report: " + e.getMessage());
+                return 1;
+            }
+        } else {
+            reportOut.println(json);
+        }
+
+        System.err.printf("Matched %d of %d images (%d unmatched) in %d ms, %.0f images/sec%n",
+            report.matched(), report.images(), report.unmatched(),
+            matchNanos / 1_000_000, report.imagesPerSecond());
+        return 0;
+    }
+
+    private static Report buildReport(Path directory, Options options, List<MatchResult> results,
+                                      long rosterNanos, long matchNanos) {
+        Map<String, Integer> byKind = new LinkedHashMap<>();
+        for (MatchKind kind : MatchKind.values()) {
+            byKind.put(kind.name().toLowerCase(), 0);
+        }
+        List<ImageEntry> entries = new ArrayList<>(results.size());
+        for (MatchResult result : results) {
+            byKind.merge(result.kind().name().toLowerCase(), 1, Integer::sum);
+            if (result.student() != null) {
+                entries.add(new ImageEntry(result.student().imagePath().getFileName().toString(),
+                    result.kind().name().toLowerCase(), result.student().rosterName(), List.of()));
+            } else {
+                entries.add(new ImageEntry(result.unmatched().filename(),
+                    result.kind().name().toLowerCase(), null, result.unmatched().suggestions()));
+            }
+        }
+
+        int unmatched = byKind.get(MatchKind.UNMATCHED.name().toLowerCase());
+        double seconds = matchNanos / 1e9;
+        return new Report(
+            directory.toString(),
+            RosterService.getInstance().getRosterNames().size(),
+            results.size(),
+            results.size() - unmatched,
+            unmatched,
+            byKind,
+            options.threads(),
+            rosterNanos / 1_000_000,
+            matchNanos / 1_000_000,
+            seconds > 0 ? results.size() / seconds : 0,
+            entries
+        );
+    }
+
+    /**
+     * Saves fuzzy matches, and optionally best suggestions, as manual mappings
+     * so the app and later runs use them without re-matching.
+     */
+    private static void saveMappings(List<MatchResult> results, boolean acceptSuggestions) {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        for (MatchResult result : results) {
+            if (result.kind() == MatchKind.FUZZY) {
+                mappings.put(result.student().imagePath().getFileName().toString(), result.student().rosterName());
+            } else if (acceptSuggestions && result.kind() == MatchKind.UNMATCHED) {
+                ScoredMatch best = result.unmatched().bestSuggestion();
+                if (best != null) {
+                    mappings.put(result.unmatched().filename(), best.rosterName());
+                }
+            }
+        }
+        if (!mappings.isEmpty()) {
+            MappingService.getInstance().setMappings(mappings);
+        }
+        System.err.println("Saved " + mappings.size() + " mappings");
+    }
+
+    /**
+     * Parsed command-line arguments.
+     */
+    private record Options(Path directory, Path report, Path dataDirectory, boolean saveMappings,
+                           boolean acceptSuggestions, int threads) {
+        static Options parse(String[] args) {
+            Path directory = null;
+            Path report = null;
+            Path dataDirectory = null;
+            boolean saveMappings = false;
+            boolean acceptSuggestions = false;
+            int threads = Runtime.getRuntime().availableProcessors();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--report" -> report = Path.of(value(args, ++i, "--report"));
+                    case "--data-dir" -> dataDirectory = Path.of(value(args, ++i, "--data-dir"));
+                    case "--save-mappings" -> saveMappings = true;
+                    case "--accept-suggestions" -> acceptSuggestions = true;
+                    case "--threads" -> {
+                        try {
+                            threads = Integer.parseInt(value(args, ++i, "--threads"));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("--threads needs a number");
+                        }
+                        if (threads < 1) {
+                            throw new IllegalArgumentException("--threads must be at least 1");
+                        }
+                    }
+                    default -> {
+                        if (args[i].startsWith("--") || directory != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                        directory = Path.of(args[i]);
+                    }
+                }
+            }
+            if (directory == null) {
+                throw new IllegalArgumentException("Missing images directory");
+            }
+            return new Options(directory, report, dataDirectory, saveMappings, acceptSuggestions, threads);
+        }
+
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException(option + " needs a value");
+            }
+            return args[index];
+        }
+    }
+
+    /**
+     * The JSON report. Counts by kind are keyed "manual", "exact", "fuzzy" and "unmatched".
+     */
+    private record Report(
+        String directory,
+        int rosterNames,
+        int images,
+        int matched,
+        int unmatched,
+        Map<String, Integer> byKind,
+        int threads,
+        long rosterMillis,
+        long matchMillis,
+        double imagesPerSecond,
+        List<ImageEntry> results
+    ) {}
+
+    /**
+     * One image in the report, with its roster name if matched or its suggestions if not.
+     */
+    private record ImageEntry(String file, String status, String rosterName, List<ScoredMatch> suggestions) {}
+}
@@ -3,9 +3,11 @@ package com.example.namegame;
 import com.example.namegame.controller.MainDashboardController;
 import com.example.namegame.controller.WelcomeDialogController;
 import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.ImageCacheService;
 import com.example.namegame.service.ImageService;
 import com.example.namegame.service.KeyboardShortcutService;
 import com.example.namegame.service.SoundService;
+import com.example.namegame.service.StatisticsService;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -172,9 +174,6 @@ public class NameGameApplication extends Application {
     }
     
     private void loadImagesAndShowDashboard(Stage primaryStage) throws Exception {
-        // Load images
-        ImageService.getInstance().loadImages();
-        
         // Show dashboard
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/namegame/views/main-view.fxml"));
         Parent root = loader.load();
@@ -198,16 +197,21 @@ public class NameGameApplication extends Application {
         
         primaryStage.show();
         
-        // Check for unmatched images
-        if (!ImageService.getInstance().getUnmatchedImages().isEmpty()) {
-            controller.viewUnmatched();
-        }
+        // Load images in the background, then check for unmatched images
+        controller.loadImages(true);
     }
     
     @Override
     public void stop() {
         // Clean up resources
         ImageService.getInstance().stopWatching();
+        StatisticsService.getInstance().shutdown();
+        
+        ImageCacheService.CacheMetrics imageMetrics = ImageCacheService.getInstance().getMetrics();
+        System.out.println("Image cache: " + imageMetrics.hits() + " hits, " + imageMetrics.pendingHits() +
+                          " waited on in-flight decodes, " + imageMetrics.misses() + " misses, " +
+                          imageMetrics.prefetches() + " prefetched (" +
+                          String.format("%.1f", imageMetrics.hitRate()) + "% hit rate)");
     }
     
     public static void main(String[] args) {
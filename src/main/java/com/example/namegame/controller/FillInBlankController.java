@@ -8,12 +8,10 @@ import com.example.namegame.util.AnimationFactory;
 import javafx.fxml.FXML;
 import javafx.geometry.Side;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.stage.Stage;
 
-import java.io.FileInputStream;
 import java.util.List;
 
 /**
@@ -119,13 +117,7 @@ public class FillInBlankController extends GameControllerBase {
         }
         
         // Load image
-        try {
-            Image image = new Image(new FileInputStream(current.imagePath().toFile()), 300, 400, true, true);
-            studentImage.setImage(image);
-            AnimationFactory.slideInFromRight(studentImage);
-        } catch (Exception e) {
-            studentImage.setImage(null);
-        }
+        showStudentImage(studentImage, current, 300, 400);
         
         // Show hint (first letter of first name)
         if (hintLabel != null) {
@@ -154,7 +146,7 @@ public class FillInBlankController extends GameControllerBase {
         submitButton.setDisable(true);
         
         Student current = session.getCurrentStudent();
-        boolean correct = FuzzyMatcher.isNameMatch(input, current.firstName(), current.lastName());
+        boolean correct = FuzzyMatcher.isNameMatch(input, current);
         
         if (correct) {
             handleCorrectAnswer();
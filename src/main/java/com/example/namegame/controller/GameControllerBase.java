@@ -2,13 +2,26 @@ package com.example.namegame.controller;
 
 import com.example.namegame.model.GameMode;
 import com.example.namegame.model.GameSession;
+import com.example.namegame.model.QuestionScheduler;
+import com.example.namegame.model.ShuffledScheduler;
+import com.example.namegame.model.SpacedRepetitionScheduler;
 import com.example.namegame.model.Student;
+import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.ConfusableIndex;
+import com.example.namegame.service.ImageCacheService;
 import com.example.namegame.service.ImageService;
+import com.example.namegame.service.RosterService;
 import com.example.namegame.service.SoundService;
 import com.example.namegame.service.StatisticsService;
+import com.example.namegame.util.AnimationFactory;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Base class for game controllers.
@@ -35,12 +48,61 @@ public abstract class GameControllerBase {
     
     protected void initializeGame() {
         List<Student> students = ImageService.getInstance().getStudents();
-        session = new GameSession(mode, students);
+        ConfigService config = ConfigService.getInstance();
+        // The matching board needs every student; the quizzes ask due names first
+        QuestionScheduler scheduler = mode != GameMode.MATCHING && config.isSpacedRepetition()
+            ? new SpacedRepetitionScheduler(students,
+                StatisticsService.getInstance().getStatistics(), System.currentTimeMillis())
+            : new ShuffledScheduler(students.size());
+        // Looked up per question, so questions asked before the similar-name index is built get random distractors
+        Function<String, List<String>> similarNames = mode == GameMode.MULTIPLE_CHOICE && config.isHardDistractors()
+            ? name -> {
+                ConfusableIndex confusables = RosterService.getInstance().getConfusables();
+                return confusables != null ? confusables.neighbors(name) : List.of();
+            }
+            : null;
+        session = new GameSession(mode, students, scheduler, similarNames);
         loadQuestion();
     }
     
     protected abstract void loadQuestion();
     
+    /**
+     * Shows the current student's photo, decoding it in the background if it isn't
+     * cached yet. A photo that finishes loading after the question moved on is dropped.
+     */
+    protected void showStudentImage(ImageView view, Student student, double width, double height) {
+        CompletableFuture<Image> future = ImageCacheService.getInstance().load(student.imagePath(), width, height);
+        prefetchUpcoming(width, height);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            view.setImage(future.join());
+            AnimationFactory.slideInFromRight(view);
+            return;
+        }
+        
+        view.setImage(null);
+        future.whenCompleteAsync((image, error) -> {
+            if (!student.equals(session.getCurrentStudent())) {
+                return;
+            }
+            view.setImage(error == null ? image : null);
+            if (error == null) {
+                AnimationFactory.slideInFromRight(view);
+            }
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Starts decoding the photos of the next few students while the current
+     * question is on screen, so the following questions can show them right away.
+     */
+    private void prefetchUpcoming(double width, double height) {
+        int depth = ConfigService.getInstance().getPrefetchDepth();
+        for (Student upcoming : session.getUpcomingStudents(depth)) {
+            ImageCacheService.getInstance().prefetch(upcoming.imagePath(), width, height);
+        }
+    }
+    
     protected void handleCorrectAnswer() {
         SoundService.getInstance().playCorrect();
         StatisticsService.getInstance().recordAnswer(session.getCurrentStudent(), true);
@@ -4,6 +4,7 @@ import com.example.namegame.model.GameMode;
 import com.example.namegame.model.Student;
 import com.example.namegame.model.UnmatchedImage;
 import com.example.namegame.service.*;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -18,8 +19,11 @@ import javafx.stage.Stage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the main dashboard view.
@@ -32,6 +36,7 @@ public class MainDashboardController {
     
     @FXML private Label studentCountLabel;
     @FXML private Label unmatchedWarningLabel;
+    @FXML private ProgressBar loadProgressBar;
     
     @FXML private Label totalMatchesLabel;
     @FXML private Label totalMissesLabel;
@@ -40,8 +45,10 @@ public class MainDashboardController {
     @FXML private Label bestStreakLabel;
     
     @FXML private MenuBar menuBar;
+    @FXML private Menu recentSectionsMenu;
     
     private Stage stage;
+    private final Map<VBox, Tooltip> cardTooltips = new HashMap<>();
     
     @FXML
     public void initialize() {
@@ -60,8 +67,16 @@ public class MainDashboardController {
         this.stage = stage;
         KeyboardShortcutService.getInstance().registerScene(stage.getScene());
         
-        // Setup file watcher
+        watchImagesDirectory();
+    }
+    
+    /**
+     * Watches the configured images directory, refreshing the dashboard as photos change.
+     */
+    private void watchImagesDirectory() {
         ImageService.getInstance().startWatching(v -> {
+            updateStudentInfo();
+            setupGameCards();
             showReloadNotification();
         });
     }
@@ -71,24 +86,27 @@ public class MainDashboardController {
         int count = students.size();
         
         // Matching - needs at least 1 student
-        matchingCard.setDisable(count < 1);
-        if (count < 1) {
-            matchingCard.setOpacity(0.5);
-            Tooltip.install(matchingCard, new Tooltip("Requires at least 1 student"));
-        }
+        setupGameCard(matchingCard, count >= 1, "Requires at least 1 student");
         
         // Multiple Choice - needs at least 4 students
-        multipleChoiceCard.setDisable(count < 4);
-        if (count < 4) {
-            multipleChoiceCard.setOpacity(0.5);
-            Tooltip.install(multipleChoiceCard, new Tooltip("Requires at least 4 students"));
-        }
+        setupGameCard(multipleChoiceCard, count >= 4, "Requires at least 4 students");
         
         // Fill in the Blank - needs at least 1 student
-        fillInBlankCard.setDisable(count < 1);
-        if (count < 1) {
-            fillInBlankCard.setOpacity(0.5);
-            Tooltip.install(fillInBlankCard, new Tooltip("Requires at least 1 student"));
+        setupGameCard(fillInBlankCard, count >= 1, "Requires at least 1 student");
+    }
+    
+    private void setupGameCard(VBox card, boolean playable, String requirement) {
+        card.setDisable(!playable);
+        card.setOpacity(playable ? 1.0 : 0.5);
+        
+        Tooltip existing = cardTooltips.remove(card);
+        if (existing != null) {
+            Tooltip.uninstall(card, existing);
+        }
+        if (!playable) {
+            Tooltip tooltip = new Tooltip(requirement);
+            Tooltip.install(card, tooltip);
+            cardTooltips.put(card, tooltip);
         }
     }
     
@@ -192,7 +210,7 @@ public class MainDashboardController {
             SettingsDialogController controller = loader.getController();
             controller.setStage(dialogStage);
             controller.setOnSave(() -> {
-                reloadImages();
+                switchSection(ConfigService.getInstance().getImagesDirectory());
             });
             
             Scene scene = new Scene(root);
@@ -252,9 +270,111 @@ public class MainDashboardController {
     
     @FXML
     private void reloadImages() {
-        ImageService.getInstance().reload();
-        updateStudentInfo();
-        setupGameCards();
+        loadImages(false);
+    }
+    
+    /**
+     * Loads images in the background, showing progress in the status bar.
+     * @param reviewUnmatched Whether to open the unmatched dialog if any images didn't match
+     */
+    public void loadImages(boolean reviewUnmatched) {
+        showLoadProgress();
+        trackLoad(ImageService.getInstance().loadImagesAsync(this::onLoadProgress), reviewUnmatched);
+    }
+    
+    @FXML
+    private void openSection() {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Open Class Section");
+        Path current = ConfigService.getInstance().getImagesDirectory();
+        if (current != null && current.getParent() != null && current.getParent().toFile().isDirectory()) {
+            chooser.setInitialDirectory(current.getParent().toFile());
+        }
+        
+        File selected = chooser.showDialog(stage);
+        if (selected != null) {
+            if (!RosterService.hasRosterFile(selected.toPath())) {
+                showError("No Roster Found",
+                    "The folder should contain a roster file (.xlsx, .xls, .csv or .tsv).");
+                return;
+            }
+            switchSection(selected.toPath());
+        }
+    }
+    
+    /**
+     * Fills the recent sections menu each time it is opened.
+     */
+    @FXML
+    private void populateRecentSections() {
+        Path current = ConfigService.getInstance().getImagesDirectory();
+        List<MenuItem> items = ConfigService.getInstance().getRecentDirectories().stream()
+            .filter(directory -> !directory.equals(current))
+            .map(directory -> {
+                MenuItem item = new MenuItem(directory.getFileName() + " — " + directory.getParent());
+                item.setMnemonicParsing(false);
+                item.setOnAction(e -> switchSection(directory));
+                return item;
+            })
+            .toList();
+        if (items.isEmpty()) {
+            MenuItem none = new MenuItem("No other sections");
+            none.setDisable(true);
+            recentSectionsMenu.getItems().setAll(none);
+        } else {
+            recentSectionsMenu.getItems().setAll(items);
+        }
+    }
+    
+    /**
+     * Switches to another class section, restoring it instantly if it is still
+     * loaded and unchanged, or loading it in the background otherwise.
+     */
+    private void switchSection(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        showLoadProgress();
+        trackLoad(ImageService.getInstance().switchSectionAsync(directory, this::onLoadProgress), false);
+    }
+    
+    private void showLoadProgress() {
+        studentCountLabel.setText("Loading images...");
+        loadProgressBar.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
+        loadProgressBar.setVisible(true);
+        loadProgressBar.setManaged(true);
+    }
+    
+    private void onLoadProgress(ImageService.LoadProgress progress) {
+        Platform.runLater(() -> {
+            if (progress.total() > 0) {
+                loadProgressBar.setProgress(progress.fraction());
+                studentCountLabel.setText("Matching images... " + progress.processed() + " / " + progress.total());
+            }
+        });
+    }
+    
+    /**
+     * Refreshes the dashboard once a load or section switch completes.
+     */
+    private void trackLoad(CompletableFuture<Boolean> load, boolean reviewUnmatched) {
+        load.whenComplete((loaded, error) -> Platform.runLater(() -> {
+            loadProgressBar.setVisible(false);
+            loadProgressBar.setManaged(false);
+            if (error != null) {
+                System.err.println("Failed to load images: " + error.getMessage());
+            }
+            updateStudentInfo();
+            setupGameCards();
+            if (stage != null) {
+                // Follow the images directory if it was changed in settings or by a section switch
+                watchImagesDirectory();
+            }
+            
+            if (reviewUnmatched && !ImageService.getInstance().getUnmatchedImages().isEmpty()) {
+                viewUnmatched();
+            }
+        }));
     }
     
     @FXML
@@ -345,7 +465,10 @@ public class MainDashboardController {
     }
     
     private void showReloadNotification() {
-        unmatchedWarningLabel.setText("📁 Files changed - Press R to reload");
+        if (!ImageService.getInstance().getUnmatchedImages().isEmpty()) {
+            return; // Keep the unmatched warning visible
+        }
+        unmatchedWarningLabel.setText("📁 Photos folder updated");
         unmatchedWarningLabel.setStyle("-fx-text-fill: blue;");
         unmatchedWarningLabel.setVisible(true);
     }
@@ -1,15 +1,23 @@
 package com.example.namegame.controller;
 
 import com.example.namegame.model.Student;
+import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.ImageCacheService;
 import com.example.namegame.util.AnimationFactory;
 import javafx.animation.FadeTransition;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.fxml.FXML;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -19,8 +27,8 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.util.Duration;
 
-import java.io.FileInputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the matching game mode.
@@ -36,6 +44,12 @@ public class MatchingGameController extends GameControllerBase {
     
     private final Map<Button, Student> imageButtons = new HashMap<>();
     private final Map<Button, Student> nameButtons = new HashMap<>();
+    private final List<Button> imageCards = new ArrayList<>();
+    private final List<Button> nameCards = new ArrayList<>();
+    private List<Student> matchOrder = List.of();
+    private int roundStart = 0;
+    private int roundSize = 0;
+    private int roundMatches = 0;
     private Button selectedImageButton = null;
     private Button selectedNameButton = null;
     private int matchesFound = 0;
@@ -48,12 +62,30 @@ public class MatchingGameController extends GameControllerBase {
     private static final double BASE_BUTTON_HEIGHT = 140.0;
     private static final double BASE_NAME_WIDTH = 150.0;
     private static final double BASE_NAME_HEIGHT = 40.0;
-    private double currentScaleFactor = 1.0;
+    private static final double MIN_SCALE = 0.5;
+    private static final double SCALE_STEP = 0.05;
+    private final DoubleProperty scaleFactor = new SimpleDoubleProperty(1.0);
+    private final Map<Double, Font> fontCache = new HashMap<>();
+    private boolean scaleStale = false;
     
     // Hover preview variables
     private static final double PREVIEW_IMAGE_SIZE = 200.0; // Base size for preview
     private Pane hoverPreviewPane;
     private ImageView hoverPreviewImage;
+    private static final Duration HOVER_INTENT_DELAY = Duration.millis(150);
+    private static final int PREVIEW_CACHE_SIZE = 32;
+    private Student hoveredStudent;
+    private MouseEvent lastHoverEvent;
+    private final PauseTransition hoverIntent = new PauseTransition(HOVER_INTENT_DELAY);
+    private CompletableFuture<Image> previewLoad;
+    
+    // Recently shown previews, kept strongly so hovering back over a card is instant
+    private final Map<Student, Image> previewCache = new LinkedHashMap<>(PREVIEW_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Student, Image> eldest) {
+            return size() > PREVIEW_CACHE_SIZE;
+        }
+    };
     private FadeTransition fadeInTransition;
     private FadeTransition fadeOutTransition;
     
@@ -61,6 +93,10 @@ public class MatchingGameController extends GameControllerBase {
     public void initialize() {
         // Initialize hover preview system
         setupHoverPreview();
+        bindLayoutToScale();
+        
+        // Previews are cached at the size for the current scale
+        scaleFactor.addListener((observable, oldScale, newScale) -> previewCache.clear());
         
         // Initialize scaling when the scene is available
         if (imagePane != null) {
@@ -81,19 +117,23 @@ public class MatchingGameController extends GameControllerBase {
     }
     
     /**
-     * Sets up window resize listener for responsive scaling
+     * Sets up window resize listener for responsive scaling. Resize events only
+     * mark the scale as stale; it is recomputed at most once per pulse.
      */
     private void setupWindowResizeListener() {
-        if (imagePane.getScene() != null && imagePane.getScene().getWindow() != null) {
-            ChangeListener<Number> resizeListener = new ChangeListener<Number>() {
-                @Override
-                public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+        Scene scene = imagePane.getScene();
+        if (scene != null && scene.getWindow() != null) {
+            InvalidationListener resizeListener = observable -> scaleStale = true;
+            scene.getWindow().widthProperty().addListener(resizeListener);
+            scene.getWindow().heightProperty().addListener(resizeListener);
+            scene.addPreLayoutPulseListener(() -> {
+                if (scaleStale) {
+                    scaleStale = false;
                     updateScaling();
                 }
-            };
+            });
             
-            imagePane.getScene().getWindow().widthProperty().addListener(resizeListener);
-            imagePane.getScene().getWindow().heightProperty().addListener(resizeListener);
+            bindScrollPanes();
             
             // Initial scaling
             updateScaling();
@@ -114,13 +154,81 @@ public class MatchingGameController extends GameControllerBase {
         // Calculate scale factors based on both width and height, use the smaller one
         double widthScale = windowWidth / BASE_WIDTH;
         double heightScale = windowHeight / BASE_HEIGHT;
-        currentScaleFactor = Math.min(widthScale, heightScale);
+        double scale = Math.min(widthScale, heightScale);
         
         // Ensure minimum scale factor
-        currentScaleFactor = Math.max(currentScaleFactor, 0.5);
+        scale = Math.max(scale, MIN_SCALE);
         
-        // Apply scaling to all elements
-        scaleAllElements();
+        // Round to a step so small resizes leave the layout untouched; everything
+        // bound to the scale factor updates only when the step changes
+        scaleFactor.set(Math.round(scale / SCALE_STEP) * SCALE_STEP);
+    }
+    
+    /**
+     * Binds the sizes of the fixed parts of the board to the scale factor.
+     */
+    private void bindLayoutToScale() {
+        // Scale flow pane gaps
+        double baseGap = 10.0;
+        imagePane.hgapProperty().bind(scaleFactor.multiply(baseGap));
+        imagePane.vgapProperty().bind(scaleFactor.multiply(baseGap));
+        namePane.hgapProperty().bind(scaleFactor.multiply(baseGap));
+        namePane.vgapProperty().bind(scaleFactor.multiply(baseGap));
+        
+        // Scale wrap lengths
+        double baseImageWrap = 400.0;
+        double baseNameWrap = 300.0;
+        imagePane.prefWrapLengthProperty().bind(scaleFactor.multiply(baseImageWrap));
+        namePane.prefWrapLengthProperty().bind(scaleFactor.multiply(baseNameWrap));
+        
+        // Scale labels in header
+        for (Label label : new Label[] {scoreLabel, progressLabel, streakLabel}) {
+            if (label != null) {
+                label.fontProperty().bind(scaledFont(baseFontSize(label)));
+            }
+        }
+    }
+    
+    /**
+     * Binds the heights of the scroll panes around the card panes. They only
+     * become ancestors of the card panes once the scene has been laid out.
+     */
+    private void bindScrollPanes() {
+        for (Node pane : new Node[] {imagePane, namePane}) {
+            Node node = pane.getParent();
+            while (node != null && !(node instanceof ScrollPane)) {
+                node = node.getParent();
+            }
+            if (node instanceof ScrollPane scrollPane && !scrollPane.prefHeightProperty().isBound()) {
+                double baseScrollHeight = 400.0;
+                scrollPane.prefHeightProperty().bind(scaleFactor.multiply(baseScrollHeight));
+            }
+        }
+    }
+    
+    private static double baseFontSize(Label label) {
+        if (label.getStyleClass().contains("game-title")) {
+            return 24.0;
+        } else if (label.getStyleClass().contains("section-label")) {
+            return 16.0;
+        }
+        return 14.0;
+    }
+    
+    /**
+     * Creates a font binding that follows the scale factor.
+     */
+    private ObjectBinding<Font> scaledFont(double baseFontSize) {
+        return Bindings.createObjectBinding(() -> fontFor(baseFontSize), scaleFactor);
+    }
+    
+    /**
+     * Gets the font for a base size at the current scale, shared by every node using it.
+     */
+    private Font fontFor(double baseFontSize) {
+        double scaledFontSize = Math.max(baseFontSize * scaleFactor.get(), 8.0); // Minimum font size
+        return fontCache.computeIfAbsent(scaledFontSize,
+            size -> Font.font(Font.getDefault().getFamily(), size));
     }
     
     /**
@@ -173,201 +281,152 @@ public class MatchingGameController extends GameControllerBase {
         }
     }
     
-    /**
-     * Applies scaling to all UI elements
-     */
-    private void scaleAllElements() {
-        // Scale image buttons
-        for (Button button : imageButtons.keySet()) {
-            scaleImageButton(button);
-        }
-        
-        // Scale name buttons
-        for (Button button : nameButtons.keySet()) {
-            scaleNameButton(button);
-        }
+    private void setupMatchingGrid() {
+        imagePane.getChildren().clear();
+        namePane.getChildren().clear();
+        imageButtons.clear();
+        nameButtons.clear();
+        imageCards.clear();
+        nameCards.clear();
+        matchesFound = 0;
         
-        // Scale scroll panes
-        scaleScrollPanes();
+        matchOrder = new ArrayList<>(session.getStudents());
+        Collections.shuffle(matchOrder);
         
-        // Scale labels and text
-        scaleLabelsAndText();
+        // Only one round of cards exists at a time, so large sections don't
+        // build a node and decode a photo per student up front
+        int configured = ConfigService.getInstance().getMatchingRoundSize();
+        roundSize = configured > 0 ? Math.min(configured, matchOrder.size()) : matchOrder.size();
+        roundStart = 0;
+        startRound();
     }
     
     /**
-     * Scales an image button and its contents
+     * Fills the board with the next round of students, reusing the cards of the
+     * previous round where possible.
      */
-    private void scaleImageButton(Button button) {
-        double scaledWidth = BASE_BUTTON_WIDTH * currentScaleFactor;
-        double scaledHeight = BASE_BUTTON_HEIGHT * currentScaleFactor;
-        double scaledImageSize = BASE_IMAGE_SIZE * currentScaleFactor;
-        
-        button.setPrefSize(scaledWidth, scaledHeight);
-        button.setMinSize(scaledWidth, scaledHeight);
-        
-        // Scale the image inside
-        if (button.getGraphic() instanceof ImageView imageView) {
-            imageView.setFitWidth(scaledImageSize);
-            imageView.setFitHeight(scaledImageSize);
+    private void startRound() {
+        List<Student> round = matchOrder.subList(roundStart, Math.min(roundStart + roundSize, matchOrder.size()));
+        roundMatches = 0;
+        selectedImageButton = null;
+        selectedNameButton = null;
+        hideHoverPreview();
+        
+        while (imageCards.size() < round.size()) {
+            Button btn = createImageButton();
+            imageCards.add(btn);
+            imagePane.getChildren().add(btn);
         }
-    }
-    
-    /**
-     * Scales a name button
-     */
-    private void scaleNameButton(Button button) {
-        double scaledWidth = BASE_NAME_WIDTH * currentScaleFactor;
-        double scaledHeight = BASE_NAME_HEIGHT * currentScaleFactor;
-        
-        button.setPrefSize(scaledWidth, scaledHeight);
-        button.setMinWidth(scaledWidth);
-        
-        // Scale font size
-        Font currentFont = button.getFont();
-        double baseFontSize = 12.0;
-        double scaledFontSize = baseFontSize * currentScaleFactor;
-        scaledFontSize = Math.max(scaledFontSize, 8.0); // Minimum font size
-        button.setFont(Font.font(currentFont.getFamily(), scaledFontSize));
-    }
-    
-    /**
-     * Scales scroll panes
-     */
-    private void scaleScrollPanes() {
-        double baseScrollHeight = 400.0;
-        double scaledScrollHeight = baseScrollHeight * currentScaleFactor;
-        
-        // Find scroll panes in the UI tree
-        scaleScrollPanesRecursive(imagePane.getParent());
-    }
-    
-    /**
-     * Recursively finds and scales scroll panes
-     */
-    private void scaleScrollPanesRecursive(Node node) {
-        if (node instanceof ScrollPane scrollPane) {
-            double baseScrollHeight = 400.0;
-            double scaledScrollHeight = baseScrollHeight * currentScaleFactor;
-            scrollPane.setPrefHeight(scaledScrollHeight);
-        } else if (node instanceof Pane pane) {
-            for (Node child : pane.getChildren()) {
-                scaleScrollPanesRecursive(child);
-            }
+        while (nameCards.size() < round.size()) {
+            Button btn = createNameButton();
+            nameCards.add(btn);
+            namePane.getChildren().add(btn);
         }
-    }
-    
-    /**
-     * Scales labels and text elements
-     */
-    private void scaleLabelsAndText() {
-        // Scale flow pane gaps
-        double baseGap = 10.0;
-        double scaledGap = baseGap * currentScaleFactor;
-        imagePane.setHgap(scaledGap);
-        imagePane.setVgap(scaledGap);
-        namePane.setHgap(scaledGap);
-        namePane.setVgap(scaledGap);
-        
-        // Scale wrap lengths
-        double baseImageWrap = 400.0;
-        double baseNameWrap = 300.0;
-        imagePane.setPrefWrapLength(baseImageWrap * currentScaleFactor);
-        namePane.setPrefWrapLength(baseNameWrap * currentScaleFactor);
-        
-        // Scale labels in header
-        scaleLabelsRecursive(scoreLabel);
-        scaleLabelsRecursive(progressLabel);
-        scaleLabelsRecursive(streakLabel);
-    }
-    
-    /**
-     * Scales individual labels
-     */
-    private void scaleLabelsRecursive(Node node) {
-        if (node instanceof Label label) {
-            Font currentFont = label.getFont();
-            double baseFontSize = 14.0;
-            if (label.getStyleClass().contains("game-title")) {
-                baseFontSize = 24.0;
-            } else if (label.getStyleClass().contains("section-label")) {
-                baseFontSize = 16.0;
-            } else if (label.getStyleClass().contains("instruction-label")) {
-                baseFontSize = 14.0;
-            }
-            
-            double scaledFontSize = baseFontSize * currentScaleFactor;
-            scaledFontSize = Math.max(scaledFontSize, 8.0); // Minimum font size
-            label.setFont(Font.font(currentFont.getFamily(), scaledFontSize));
+        // The last round may be smaller than the ones before it
+        while (imageCards.size() > round.size()) {
+            Button btn = imageCards.remove(imageCards.size() - 1);
+            imagePane.getChildren().remove(btn);
+            imageButtons.remove(btn);
+        }
+        while (nameCards.size() > round.size()) {
+            Button btn = nameCards.remove(nameCards.size() - 1);
+            namePane.getChildren().remove(btn);
+            nameButtons.remove(btn);
         }
-    }
-    
-    private void setupMatchingGrid() {
-        imagePane.getChildren().clear();
-        namePane.getChildren().clear();
-        imageButtons.clear();
-        nameButtons.clear();
-        matchesFound = 0;
-        
-        List<Student> students = new ArrayList<>(session.getStudents());
-        Collections.shuffle(students);
         
-        // Create image buttons
-        for (Student student : students) {
-            Button btn = createImageButton(student);
-            imageButtons.put(btn, student);
-            imagePane.getChildren().add(btn);
+        List<Student> imageOrder = new ArrayList<>(round);
+        Collections.shuffle(imageOrder);
+        for (int i = 0; i < imageOrder.size(); i++) {
+            bindImageButton(imageCards.get(i), imageOrder.get(i));
         }
         
         // Shuffle again for names
-        List<Student> shuffledForNames = new ArrayList<>(students);
-        Collections.shuffle(shuffledForNames);
+        List<Student> nameOrder = new ArrayList<>(round);
+        Collections.shuffle(nameOrder);
+        for (int i = 0; i < nameOrder.size(); i++) {
+            bindNameButton(nameCards.get(i), nameOrder.get(i));
+        }
         
-        // Create name buttons
-        for (Student student : shuffledForNames) {
-            Button btn = createNameButton(student);
-            nameButtons.put(btn, student);
-            namePane.getChildren().add(btn);
+        // Decode the next round's photos while this one is played
+        int nextEnd = Math.min(roundStart + 2 * roundSize, matchOrder.size());
+        for (Student upcoming : matchOrder.subList(Math.min(roundStart + roundSize, nextEnd), nextEnd)) {
+            ImageCacheService.getInstance().prefetch(upcoming.imagePath(), BASE_IMAGE_SIZE, BASE_IMAGE_SIZE);
         }
         
         updateScoreDisplay();
-        
-        // Apply initial scaling if window is available
-        javafx.application.Platform.runLater(() -> {
-            if (imagePane.getScene() != null && imagePane.getScene().getWindow() != null) {
-                updateScaling();
-            }
-        });
     }
     
-    private Button createImageButton(Student student) {
+    private Button createImageButton() {
         Button btn = new Button();
-        btn.setPrefSize(BASE_BUTTON_WIDTH, BASE_BUTTON_HEIGHT);
-        btn.setMinSize(BASE_BUTTON_WIDTH, BASE_BUTTON_HEIGHT);
+        btn.prefWidthProperty().bind(scaleFactor.multiply(BASE_BUTTON_WIDTH));
+        btn.prefHeightProperty().bind(scaleFactor.multiply(BASE_BUTTON_HEIGHT));
+        btn.minWidthProperty().bind(btn.prefWidthProperty());
+        btn.minHeightProperty().bind(btn.prefHeightProperty());
         btn.getStyleClass().add("image-card");
         
-        try {
-            Image image = new Image(new FileInputStream(student.imagePath().toFile()), BASE_IMAGE_SIZE, BASE_IMAGE_SIZE, true, true);
-            ImageView imageView = new ImageView(image);
-            imageView.setFitWidth(BASE_IMAGE_SIZE);
-            imageView.setFitHeight(BASE_IMAGE_SIZE);
-            imageView.setPreserveRatio(true);
-            btn.setGraphic(imageView);
-            
-            // Add hover preview functionality
-            setupImageHoverPreview(btn, student);
-            
-        } catch (Exception e) {
-            btn.setText("?");
-        }
+        ImageView imageView = new ImageView();
+        imageView.fitWidthProperty().bind(scaleFactor.multiply(BASE_IMAGE_SIZE));
+        imageView.fitHeightProperty().bind(scaleFactor.multiply(BASE_IMAGE_SIZE));
+        imageView.setPreserveRatio(true);
+        btn.setUserData(imageView);
         
         btn.setOnAction(e -> selectImage(btn));
         return btn;
     }
     
-    private Button createNameButton(Student student) {
-        Button btn = new Button(student.displayName());
-        btn.setPrefSize(BASE_NAME_WIDTH, BASE_NAME_HEIGHT);
-        btn.setMinWidth(BASE_NAME_WIDTH);
+    /**
+     * Shows a student's photo on an image card, resetting any state left over
+     * from the student it showed in the previous round.
+     */
+    private void bindImageButton(Button btn, Student student) {
+        resetCard(btn);
+        imageButtons.put(btn, student);
+        
+        ImageView imageView = (ImageView) btn.getUserData();
+        imageView.setImage(null);
+        btn.setText(null);
+        btn.setGraphic(imageView);
+        btn.setOnMouseEntered(null);
+        btn.setOnMouseExited(null);
+        btn.setOnMouseMoved(null);
+        
+        // Decode in the background; the card shows up empty until the photo is ready
+        ImageCacheService.getInstance()
+            .load(student.imagePath(), BASE_IMAGE_SIZE, BASE_IMAGE_SIZE)
+            .whenCompleteAsync((image, error) -> {
+                // The card may have been reused for another student meanwhile
+                if (imageButtons.get(btn) != student) {
+                    return;
+                }
+                if (error != null) {
+                    btn.setGraphic(null);
+                    btn.setText("?");
+                } else {
+                    imageView.setImage(image);
+                    // Add hover preview functionality
+                    setupImageHoverPreview(btn, student);
+                }
+            }, Platform::runLater);
+    }
+    
+    private void bindNameButton(Button btn, Student student) {
+        resetCard(btn);
+        nameButtons.put(btn, student);
+        btn.setText(student.displayName());
+    }
+    
+    private void resetCard(Button btn) {
+        btn.setDisable(false);
+        btn.setOpacity(1.0);
+        btn.getStyleClass().remove("selected");
+    }
+    
+    private Button createNameButton() {
+        Button btn = new Button();
+        btn.prefWidthProperty().bind(scaleFactor.multiply(BASE_NAME_WIDTH));
+        btn.prefHeightProperty().bind(scaleFactor.multiply(BASE_NAME_HEIGHT));
+        btn.minWidthProperty().bind(btn.prefWidthProperty());
+        btn.fontProperty().bind(scaledFont(12.0));
         btn.getStyleClass().add("name-card");
         btn.setWrapText(true);
         
@@ -381,44 +440,88 @@ public class MatchingGameController extends GameControllerBase {
     private void setupImageHoverPreview(Button button, Student student) {
         button.setOnMouseEntered(e -> showHoverPreview(e, student));
         button.setOnMouseExited(e -> hideHoverPreview());
-        button.setOnMouseMoved(e -> updateHoverPreviewPosition(e));
+        button.setOnMouseMoved(e -> {
+            lastHoverEvent = e;
+            updateHoverPreviewPosition(e);
+        });
     }
     
     /**
-     * Shows the hover preview with the student's image
+     * Shows the hover preview with the student's image. Previews seen recently
+     * show at once; others only start loading once the pointer rests on the
+     * card, so sweeping across the board doesn't queue a decode per card.
      */
     private void showHoverPreview(MouseEvent event, Student student) {
         if (hoverPreviewPane == null || hoverPreviewImage == null) {
             return;
         }
         
-        try {
-            // Load a larger version of the image for preview
-            double previewSize = PREVIEW_IMAGE_SIZE * currentScaleFactor;
-            Image previewImage = new Image(new FileInputStream(student.imagePath().toFile()), 
-                                         previewSize, previewSize, true, true);
-            hoverPreviewImage.setImage(previewImage);
-            hoverPreviewImage.setFitWidth(previewSize);
-            hoverPreviewImage.setFitHeight(previewSize);
-            
-            // Size the preview pane to fit the image with padding
-            double padding = 10 * currentScaleFactor;
-            hoverPreviewPane.setPrefWidth(previewSize + padding * 2);
-            hoverPreviewPane.setPrefHeight(previewSize + padding * 2);
-            hoverPreviewImage.setLayoutX(padding);
-            hoverPreviewImage.setLayoutY(padding);
-            
-            // Position and show the preview
-            updateHoverPreviewPosition(event);
-            
-            // Stop any ongoing fade out and start fade in
-            fadeOutTransition.stop();
-            hoverPreviewPane.setVisible(true);
-            fadeInTransition.play();
-            
-        } catch (Exception ex) {
-            // If image loading fails, don't show preview
-            hideHoverPreview();
+        cancelPreviewLoad();
+        hoveredStudent = student;
+        lastHoverEvent = event;
+        
+        Image cached = previewCache.get(student);
+        if (cached != null) {
+            displayHoverPreview(cached);
+            return;
+        }
+        
+        hoverIntent.setOnFinished(e -> loadHoverPreview(student));
+        hoverIntent.playFromStart();
+    }
+    
+    private void loadHoverPreview(Student student) {
+        // Load a larger version of the image for preview
+        double previewSize = PREVIEW_IMAGE_SIZE * scaleFactor.get();
+        CompletableFuture<Image> load = ImageCacheService.getInstance()
+            .load(student.imagePath(), previewSize, previewSize);
+        previewLoad = load;
+        load.whenCompleteAsync((previewImage, error) -> {
+            // The pointer may have moved on while the image was loading
+            if (load.isCancelled() || hoveredStudent != student) {
+                return;
+            }
+            previewLoad = null;
+            if (error != null) {
+                // If image loading fails, don't show preview
+                hideHoverPreview();
+                return;
+            }
+            previewCache.put(student, previewImage);
+            displayHoverPreview(previewImage);
+        }, Platform::runLater);
+    }
+    
+    private void displayHoverPreview(Image previewImage) {
+        double previewSize = PREVIEW_IMAGE_SIZE * scaleFactor.get();
+        hoverPreviewImage.setImage(previewImage);
+        hoverPreviewImage.setFitWidth(previewSize);
+        hoverPreviewImage.setFitHeight(previewSize);
+        
+        // Size the preview pane to fit the image with padding
+        double padding = 10 * scaleFactor.get();
+        hoverPreviewPane.setPrefWidth(previewSize + padding * 2);
+        hoverPreviewPane.setPrefHeight(previewSize + padding * 2);
+        hoverPreviewImage.setLayoutX(padding);
+        hoverPreviewImage.setLayoutY(padding);
+        
+        // Stop any ongoing fade out and start fade in
+        fadeOutTransition.stop();
+        hoverPreviewPane.setVisible(true);
+        
+        // Position and show the preview
+        updateHoverPreviewPosition(lastHoverEvent);
+        fadeInTransition.play();
+    }
+    
+    /**
+     * Stops a pending or in-flight preview load for a card the pointer has left.
+     */
+    private void cancelPreviewLoad() {
+        hoverIntent.stop();
+        if (previewLoad != null) {
+            previewLoad.cancel(false);
+            previewLoad = null;
         }
     }
     
@@ -439,8 +542,8 @@ public class MatchingGameController extends GameControllerBase {
         double sceneHeight = imagePane.getScene().getHeight();
         
         // Calculate preview position with offset from cursor
-        double offsetX = 20 * currentScaleFactor;
-        double offsetY = 10 * currentScaleFactor;
+        double offsetX = 20 * scaleFactor.get();
+        double offsetY = 10 * scaleFactor.get();
         
         double previewX = mouseX + offsetX;
         double previewY = mouseY + offsetY;
@@ -471,6 +574,8 @@ public class MatchingGameController extends GameControllerBase {
      * Hides the hover preview
      */
     private void hideHoverPreview() {
+        hoveredStudent = null;
+        cancelPreviewLoad();
         if (hoverPreviewPane != null && hoverPreviewPane.isVisible()) {
             fadeInTransition.stop();
             fadeOutTransition.play();
@@ -539,6 +644,9 @@ public class MatchingGameController extends GameControllerBase {
             
             if (matchesFound >= session.getStudents().size()) {
                 endGame();
+            } else if (++roundMatches >= imageCards.size()) {
+                roundStart += roundSize;
+                startRound();
             }
         });
         pause.play();
@@ -623,7 +731,12 @@ public class MatchingGameController extends GameControllerBase {
             scoreLabel.setText("Score: " + session.getScore() + " / " + session.getTotalQuestions());
         }
         if (progressLabel != null) {
-            progressLabel.setText("Matched: " + matchesFound + " / " + session.getStudents().size());
+            String progress = "Matched: " + matchesFound + " / " + session.getStudents().size();
+            int rounds = roundSize > 0 ? (matchOrder.size() + roundSize - 1) / roundSize : 0;
+            if (rounds > 1) {
+                progress += "  (Round " + (roundStart / roundSize + 1) + " of " + rounds + ")";
+            }
+            progressLabel.setText(progress);
         }
         if (streakLabel != null && session.getCurrentStreak() > 0) {
             streakLabel.setText("🔥 " + session.getCurrentStreak());
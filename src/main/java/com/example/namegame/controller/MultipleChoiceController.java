@@ -5,13 +5,11 @@ import com.example.namegame.service.KeyboardShortcutService;
 import com.example.namegame.util.AnimationFactory;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
-import java.io.FileInputStream;
 import java.util.*;
 
 /**
@@ -121,13 +119,7 @@ public class MultipleChoiceController extends GameControllerBase {
         }
         
         // Load image
-        try {
-            Image image = new Image(new FileInputStream(current.imagePath().toFile()), 300, 400, true, true);
-            studentImage.setImage(image);
-            AnimationFactory.slideInFromRight(studentImage);
-        } catch (Exception e) {
-            studentImage.setImage(null);
-        }
+        showStudentImage(studentImage, current, 300, 400);
         
         // Get distractors (wrong answers)
         List<Student> distractors = session.getDistractors(3);
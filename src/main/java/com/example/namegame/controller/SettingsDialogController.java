@@ -1,6 +1,7 @@
 package com.example.namegame.controller;
 
 import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.RosterService;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.DirectoryChooser;
@@ -16,6 +17,8 @@ public class SettingsDialogController {
     
     @FXML private TextField pathField;
     @FXML private Button browseButton;
+    @FXML private CheckBox spacedRepetitionCheck;
+    @FXML private CheckBox hardDistractorsCheck;
     @FXML private Button saveButton;
     @FXML private Button cancelButton;
     
@@ -30,6 +33,8 @@ public class SettingsDialogController {
             pathField.setText(current.toString());
             selectedPath = current;
         }
+        spacedRepetitionCheck.setSelected(ConfigService.getInstance().isSpacedRepetition());
+        hardDistractorsCheck.setSelected(ConfigService.getInstance().isHardDistractors());
     }
     
     public void setStage(Stage stage) {
@@ -73,14 +78,13 @@ public class SettingsDialogController {
         }
         
         // Check for roster file
-        boolean hasRoster = newPath.resolve("roster.xls").toFile().exists() ||
-                           newPath.resolve("roster.xlsx").toFile().exists();
+        boolean hasRoster = RosterService.hasRosterFile(newPath);
         
         if (!hasRoster) {
             Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
             confirm.setTitle("No Roster Found");
             confirm.setHeaderText("No roster file detected");
-            confirm.setContentText("The folder should contain roster.xls or roster.xlsx. Continue anyway?");
+            confirm.setContentText("The folder should contain a roster file (.xlsx, .xls, .csv or .tsv). Continue anyway?");
             
             if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
                 return;
@@ -88,6 +92,11 @@ public class SettingsDialogController {
         }
         
         ConfigService.getInstance().setImagesDirectory(newPath);
+        ConfigService.getInstance().setSpacedRepetition(spacedRepetitionCheck.isSelected());
+        ConfigService.getInstance().setHardDistractors(hardDistractorsCheck.isSelected());
+        if (hardDistractorsCheck.isSelected()) {
+            RosterService.getInstance().prepareConfusables();
+        }
         stage.close();
         
         if (onSave != null) {
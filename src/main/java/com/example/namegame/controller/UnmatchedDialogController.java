@@ -2,8 +2,10 @@ package com.example.namegame.controller;
 
 import com.example.namegame.model.ScoredMatch;
 import com.example.namegame.model.UnmatchedImage;
+import com.example.namegame.service.ImageCacheService;
 import com.example.namegame.service.ImageService;
 import com.example.namegame.service.RosterService;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -12,10 +14,13 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.ComboBoxTableCell;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import java.io.FileInputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the unmatched images dialog.
@@ -34,12 +39,29 @@ public class UnmatchedDialogController {
     private Runnable onComplete;
     private ObservableList<UnmatchedImage> unmatchedList;
     
+    private static final int THUMBNAIL_SIZE = 64;
+    private static final Image PLACEHOLDER = createPlaceholder();
+    
     @FXML
     public void initialize() {
         setupTable();
         loadUnmatchedImages();
     }
     
+    /**
+     * Creates the light grey square shown while a thumbnail loads.
+     */
+    private static Image createPlaceholder() {
+        WritableImage image = new WritableImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < THUMBNAIL_SIZE; y++) {
+            for (int x = 0; x < THUMBNAIL_SIZE; x++) {
+                writer.setColor(x, y, Color.gray(0.9));
+            }
+        }
+        return image;
+    }
+    
     public void setStage(Stage stage) {
         this.stage = stage;
     }
@@ -50,31 +72,7 @@ public class UnmatchedDialogController {
     
     private void setupTable() {
         // Thumbnail column
-        thumbnailColumn.setCellFactory(col -> new TableCell<>() {
-            private final ImageView imageView = new ImageView();
-            {
-                imageView.setFitWidth(64);
-                imageView.setFitHeight(64);
-                imageView.setPreserveRatio(true);
-            }
-            
-            @Override
-            protected void updateItem(ImageView item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || getTableRow() == null || getTableRow().getItem() == null) {
-                    setGraphic(null);
-                } else {
-                    UnmatchedImage unmatched = getTableRow().getItem();
-                    try {
-                        Image img = new Image(new FileInputStream(unmatched.path().toFile()), 64, 64, true, true);
-                        imageView.setImage(img);
-                        setGraphic(imageView);
-                    } catch (Exception e) {
-                        setGraphic(null);
-                    }
-                }
-            }
-        });
+        thumbnailColumn.setCellFactory(col -> new ThumbnailCell());
         
         // Filename column
         filenameColumn.setCellValueFactory(data -> 
@@ -133,6 +131,70 @@ public class UnmatchedDialogController {
         updateStatus();
     }
     
+    /**
+     * Shows an image's thumbnail, loading it in the background behind a
+     * placeholder. A load for a row the cell no longer shows is cancelled.
+     * Thumbnails already in the {@link ImageCacheService} are shown right away.
+     */
+    private class ThumbnailCell extends TableCell<UnmatchedImage, ImageView> {
+        private final ImageView imageView = new ImageView();
+        private UnmatchedImage shown;
+        private CompletableFuture<Image> pending;
+        
+        ThumbnailCell() {
+            imageView.setFitWidth(THUMBNAIL_SIZE);
+            imageView.setFitHeight(THUMBNAIL_SIZE);
+            imageView.setPreserveRatio(true);
+        }
+        
+        @Override
+        protected void updateItem(ImageView item, boolean empty) {
+            super.updateItem(item, empty);
+            UnmatchedImage unmatched = empty || getTableRow() == null ? null : getTableRow().getItem();
+            if (unmatched == shown) {
+                // Same row as before, e.g. after a selection change; nothing to reload
+                return;
+            }
+            
+            cancelPending();
+            shown = unmatched;
+            if (unmatched == null) {
+                setGraphic(null);
+                return;
+            }
+            
+            setGraphic(imageView);
+            CompletableFuture<Image> load = ImageCacheService.getInstance()
+                .load(unmatched.path(), THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+            if (load.isDone() && !load.isCompletedExceptionally()) {
+                // A cache hit, e.g. when scrolling back
+                imageView.setImage(load.join());
+                return;
+            }
+            
+            imageView.setImage(PLACEHOLDER);
+            pending = load;
+            load.whenCompleteAsync((img, error) -> {
+                if (load.isCancelled() || shown != unmatched) {
+                    return;
+                }
+                pending = null;
+                if (error != null) {
+                    setGraphic(null);
+                } else {
+                    imageView.setImage(img);
+                }
+            }, Platform::runLater);
+        }
+        
+        private void cancelPending() {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+    }
+    
     @FXML
     private void assignAllSuggestions() {
         List<UnmatchedImage> toAssign = List.copyOf(unmatchedList);
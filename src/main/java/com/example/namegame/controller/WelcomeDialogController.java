@@ -1,6 +1,7 @@
 package com.example.namegame.controller;
 
 import com.example.namegame.service.ConfigService;
+import com.example.namegame.service.RosterService;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.DirectoryChooser;
@@ -55,8 +56,7 @@ public class WelcomeDialogController {
             pathLabel.setText(selectedPath.toString());
             
             // Validate folder has roster file
-            boolean hasRoster = selectedPath.resolve("roster.xls").toFile().exists() ||
-                               selectedPath.resolve("roster.xlsx").toFile().exists();
+            boolean hasRoster = RosterService.hasRosterFile(selectedPath);
             
             if (hasRoster) {
                 startButton.setDisable(false);
@@ -68,7 +68,7 @@ public class WelcomeDialogController {
                 Alert warning = new Alert(Alert.AlertType.WARNING);
                 warning.setTitle("Missing Roster");
                 warning.setHeaderText("No roster file found");
-                warning.setContentText("The selected folder should contain a roster.xls or roster.xlsx file with a 'Name' column.");
+                warning.setContentText("The selected folder should contain a roster file (.xlsx, .xls, .csv or .tsv) with a 'Name' column.");
                 warning.showAndWait();
             }
         }
@@ -1,32 +1,85 @@
 package com.example.namegame.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.function.Function;
 
 /**
  * Represents an active game session with score tracking.
+ * <p>
+ * The order of questions is left to a {@link QuestionScheduler}. Distractors
+ * are drawn with a partial Fisher–Yates shuffle over a reusable index array,
+ * so each draw only touches as many entries as distractors requested. Given a
+ * similar-name lookup, the names most similar to the answer come first.
+ * The distractors are returned in a reusable buffer rather than a new list.
  */
 public class GameSession {
+    private static final Random RANDOM = new Random();
+    
     private final GameMode mode;
     private final List<Student> students;
-    private final List<Student> remainingStudents;
+    private final QuestionScheduler scheduler;
     private int score;
     private int misses;
     private int currentStreak;
     private int bestStreak;
-    private Student currentStudent;
     
+    // Distractor sampling: a permutation of student indices and each index's slot in it
+    private final int[] pool;
+    private final int[] slotOf;
+    private final Function<String, List<String>> similarNames;
+    private final Student[] distractors;
+    private final DistractorList distractorView = new DistractorList();
+    
+    // Similar-name lookup: an open-addressing table of student index + 1 (0 is
+    // empty) by squashed name, with students who share a name chained through
+    // nextSameName. Built on first use.
+    private int[] nameTable;
+    private int[] nextSameName;
+    
+    /**
+     * Creates a session asking about every student once, in random order.
+     */
     public GameSession(GameMode mode, List<Student> students) {
+        this(mode, students, new ShuffledScheduler(students.size()));
+    }
+    
+    /**
+     * Creates a session with the given question order.
+     * @param scheduler Schedules questions by index into students
+     */
+    public GameSession(GameMode mode, List<Student> students, QuestionScheduler scheduler) {
+        this(mode, students, scheduler, null);
+    }
+    
+    /**
+     * Creates a session with the given question order and similar-name distractors.
+     * @param scheduler Schedules questions by index into students
+     * @param similarNames Gets the squashed names most similar to a squashed name,
+     *                     most similar first, or null for random distractors
+     */
+    public GameSession(GameMode mode, List<Student> students, QuestionScheduler scheduler,
+                       Function<String, List<String>> similarNames) {
         this.mode = mode;
-        this.students = new ArrayList<>(students);
-        this.remainingStudents = new ArrayList<>(students);
-        Collections.shuffle(this.remainingStudents);
+        this.students = List.copyOf(students);
+        this.scheduler = scheduler;
+        this.similarNames = similarNames;
+        int count = this.students.size();
+        
+        this.pool = new int[count];
+        this.slotOf = new int[count];
+        this.distractors = new Student[count];
+        for (int i = 0; i < count; i++) {
+            pool[i] = i;
+            slotOf[i] = i;
+        }
+        
         this.score = 0;
         this.misses = 0;
         this.currentStreak = 0;
         this.bestStreak = 0;
-        advanceToNext();
     }
     
     public GameMode getMode() {
@@ -34,11 +87,12 @@ public class GameSession {
     }
     
     public List<Student> getStudents() {
-        return Collections.unmodifiableList(students);
+        return students;
     }
     
     public Student getCurrentStudent() {
-        return currentStudent;
+        int current = scheduler.current();
+        return current >= 0 ? students.get(current) : null;
     }
     
     public int getScore() {
@@ -58,7 +112,7 @@ public class GameSession {
     }
     
     public int getTotalQuestions() {
-        return students.size();
+        return scheduler.total();
     }
     
     public int getQuestionsAnswered() {
@@ -66,11 +120,24 @@ public class GameSession {
     }
     
     public int getRemainingQuestions() {
-        return remainingStudents.size() + (currentStudent != null ? 1 : 0);
+        return scheduler.remaining();
+    }
+    
+    /**
+     * Gets the students that will be asked after the current one, in order.
+     * @param count Maximum number of students to return
+     */
+    public List<Student> getUpcomingStudents(int count) {
+        int[] indices = scheduler.upcoming(count);
+        Student[] upcoming = new Student[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            upcoming[i] = students.get(indices[i]);
+        }
+        return List.of(upcoming);
     }
     
     public boolean isComplete() {
-        return currentStudent == null && remainingStudents.isEmpty();
+        return scheduler.current() < 0;
     }
     
     public double getAccuracy() {
@@ -87,7 +154,7 @@ public class GameSession {
         if (currentStreak > bestStreak) {
             bestStreak = currentStreak;
         }
-        advanceToNext();
+        scheduler.answered(true);
     }
     
     /**
@@ -96,27 +163,119 @@ public class GameSession {
     public void recordIncorrect() {
         misses++;
         currentStreak = 0;
-        advanceToNext();
+        scheduler.answered(false);
     }
     
     /**
-     * Advances to the next student.
+     * Gets distractors (wrong answers) for multiple choice. With similar-name
+     * distractors, the current student's closest names in this session come
+     * first, most similar first, including every student who shares one of
+     * those names; the rest are random other students.
+     * <p>
+     * The returned list is an unmodifiable view of a buffer the session
+     * reuses, so it is only valid until the next call; copy it to keep it.
+     * Drawing the distractors doesn't allocate, though the similar-name
+     * lookup passed to the constructor may.
      */
-    private void advanceToNext() {
-        if (remainingStudents.isEmpty()) {
-            currentStudent = null;
-        } else {
-            currentStudent = remainingStudents.remove(0);
+    public List<Student> getDistractors(int count) {
+        int candidates = pool.length;
+        int current = scheduler.current();
+        if (current >= 0) {
+            // Park the current student in the last slot, outside the sampled range
+            moveToSlot(current, pool.length - 1);
+            candidates--;
+        }
+        
+        int picks = Math.max(0, Math.min(count, candidates));
+        int chosen = 0;
+        if (similarNames != null && current >= 0) {
+            // Move each similar name to the front, so the random fill below can't pick it again
+            for (String name : similarNames.apply(students.get(current).squashedName())) {
+                for (int index = firstWithName(name); index >= 0 && chosen < picks; index = nextSameName[index]) {
+                    if (index != current && slotOf[index] >= chosen) {
+                        moveToSlot(index, chosen);
+                        distractors[chosen++] = students.get(index);
+                    }
+                }
+                if (chosen == picks) {
+                    break;
+                }
+            }
+        }
+        for (int i = chosen; i < picks; i++) {
+            moveToSlot(pool[i + RANDOM.nextInt(candidates - i)], i);
+            distractors[i] = students.get(pool[i]);
         }
+        distractorView.size = picks;
+        return distractorView;
     }
     
     /**
-     * Gets random distractors (wrong answers) for multiple choice.
+     * Gets the first student index with the given squashed name, or -1 if none
+     * has it; the others follow in nextSameName.
      */
-    public List<Student> getDistractors(int count) {
-        List<Student> available = new ArrayList<>(students);
-        available.remove(currentStudent);
-        Collections.shuffle(available);
-        return available.subList(0, Math.min(count, available.size()));
+    private int firstWithName(String name) {
+        if (nameTable == null) {
+            buildNameTable();
+        }
+        int mask = nameTable.length - 1;
+        for (int slot = name.hashCode() & mask; nameTable[slot] != 0; slot = (slot + 1) & mask) {
+            int index = nameTable[slot] - 1;
+            if (students.get(index).squashedName().equals(name)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+    
+    private void buildNameTable() {
+        int count = students.size();
+        int[] table = new int[Integer.highestOneBit(Math.max(1, count)) * 4];
+        int[] next = new int[count];
+        int mask = table.length - 1;
+        // Insert from the back, so each chain lists students in roster order
+        for (int i = count - 1; i >= 0; i--) {
+            String name = students.get(i).squashedName();
+            int slot = name.hashCode() & mask;
+            while (table[slot] != 0 && !students.get(table[slot] - 1).squashedName().equals(name)) {
+                slot = (slot + 1) & mask;
+            }
+            next[i] = table[slot] - 1;
+            table[slot] = i + 1;
+        }
+        nextSameName = next;
+        nameTable = table;
+    }
+    
+    /**
+     * Swaps a student index into the given slot of the sampling pool.
+     */
+    private void moveToSlot(int studentIndex, int slot) {
+        int from = slotOf[studentIndex];
+        int displaced = pool[slot];
+        pool[slot] = studentIndex;
+        pool[from] = displaced;
+        slotOf[studentIndex] = slot;
+        slotOf[displaced] = from;
+    }
+    
+    /**
+     * The view getDistractors returns over the front of the distractor buffer.
+     */
+    private final class DistractorList extends AbstractList<Student> implements RandomAccess {
+        private int size;
+        
+        @Override
+        public Student get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return distractors[index];
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
     }
 }
@@ -1,24 +1,59 @@
 package com.example.namegame.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
  * Holds lifetime statistics for the game.
+ * <p>
+ * Per-student counters are kept in primitive columns indexed by
+ * {@link Student#id()}, grown as new students appear, so recording an answer
+ * is a few array updates with no hashing or allocation. On disk they are
+ * stored as a name column plus one column per counter; see {@link Stored}.
  */
 public class GameStatistics {
+    private static final int INITIAL_CAPACITY = 256;
+    
     private int totalMatches;
     private int totalMisses;
     private int gamesPlayed;
     private int bestStreak;
-    private Map<String, StudentStats> perStudentStats;
+    private long journalSequence;
+    
+    // Per-student columns, indexed by student ID
+    private int[] correct;
+    private int[] incorrect;
+    private int[] streak;
+    private long[] lastSeen;
     
     public GameStatistics() {
         this.totalMatches = 0;
         this.totalMisses = 0;
         this.gamesPlayed = 0;
         this.bestStreak = 0;
-        this.perStudentStats = new HashMap<>();
+        this.journalSequence = 0;
+        int capacity = Math.max(INITIAL_CAPACITY, StudentIds.count());
+        this.correct = new int[capacity];
+        this.incorrect = new int[capacity];
+        this.streak = new int[capacity];
+        this.lastSeen = new long[capacity];
+    }
+    
+    /**
+     * Creates an independent copy of these statistics.
+     */
+    public GameStatistics copy() {
+        GameStatistics copy = new GameStatistics();
+        copy.totalMatches = totalMatches;
+        copy.totalMisses = totalMisses;
+        copy.gamesPlayed = gamesPlayed;
+        copy.bestStreak = bestStreak;
+        copy.journalSequence = journalSequence;
+        copy.correct = correct.clone();
+        copy.incorrect = incorrect.clone();
+        copy.streak = streak.clone();
+        copy.lastSeen = lastSeen.clone();
+        return copy;
     }
     
     public int getTotalMatches() {
@@ -53,12 +88,49 @@ public class GameStatistics {
         this.bestStreak = bestStreak;
     }
     
-    public Map<String, StudentStats> getPerStudentStats() {
-        return perStudentStats;
+    /**
+     * Checks if any answer has been recorded for a student.
+     */
+    public boolean hasAnswers(int studentId) {
+        return studentId < correct.length && correct[studentId] + incorrect[studentId] > 0;
+    }
+    
+    public int getCorrect(int studentId) {
+        return studentId < correct.length ? correct[studentId] : 0;
+    }
+    
+    public int getIncorrect(int studentId) {
+        return studentId < incorrect.length ? incorrect[studentId] : 0;
+    }
+    
+    /**
+     * Gets a student's number of correct answers in a row, reset by a miss.
+     */
+    public int getStreak(int studentId) {
+        return studentId < streak.length ? streak[studentId] : 0;
+    }
+    
+    /**
+     * Gets when a student was last asked about, in epoch milliseconds (0 if never or unknown).
+     */
+    public long getLastSeen(int studentId) {
+        return studentId < lastSeen.length ? lastSeen[studentId] : 0;
+    }
+    
+    public double getAccuracy(int studentId) {
+        int total = getCorrect(studentId) + getIncorrect(studentId);
+        return total > 0 ? (double) getCorrect(studentId) / total * 100 : 0;
+    }
+    
+    /**
+     * Gets the sequence number of the last journal entry folded into this snapshot.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
     }
     
-    public void setPerStudentStats(Map<String, StudentStats> perStudentStats) {
-        this.perStudentStats = perStudentStats;
+    public void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
     }
     
     public double getOverallAccuracy() {
@@ -67,21 +139,51 @@ public class GameStatistics {
     }
     
     public void recordAnswer(Student student, boolean correct) {
+        recordAnswer(student.id(), correct, System.currentTimeMillis());
+    }
+    
+    /**
+     * Records an answer for the student with the given squashed name.
+     */
+    public void recordAnswer(String key, boolean correct) {
+        recordAnswer(StudentIds.intern(key), correct, System.currentTimeMillis());
+    }
+    
+    /**
+     * Records an answer for the student with the given ID.
+     * @param answeredAt When the answer was given in epoch milliseconds, or 0 if unknown
+     */
+    public void recordAnswer(int studentId, boolean correct, long answeredAt) {
+        ensureCapacity(studentId + 1);
         if (correct) {
             totalMatches++;
+            this.correct[studentId]++;
+            streak[studentId]++;
         } else {
             totalMisses++;
+            incorrect[studentId]++;
+            streak[studentId] = 0;
         }
-        
-        String key = student.squashedName();
-        StudentStats stats = perStudentStats.computeIfAbsent(key, k -> new StudentStats());
-        if (correct) {
-            stats.incrementCorrect();
-        } else {
-            stats.incrementIncorrect();
+        if (answeredAt > lastSeen[studentId]) {
+            lastSeen[studentId] = answeredAt;
         }
     }
     
+    /**
+     * Grows the columns to hold at least the given number of students, by at
+     * least half their size so growing stays amortized constant time.
+     */
+    private void ensureCapacity(int students) {
+        if (students <= correct.length) {
+            return;
+        }
+        int capacity = Math.max(students, correct.length + (correct.length >> 1));
+        correct = Arrays.copyOf(correct, capacity);
+        incorrect = Arrays.copyOf(incorrect, capacity);
+        streak = Arrays.copyOf(streak, capacity);
+        lastSeen = Arrays.copyOf(lastSeen, capacity);
+    }
+    
     public void recordGameComplete(int streak) {
         gamesPlayed++;
         if (streak > bestStreak) {
@@ -94,19 +196,114 @@ public class GameStatistics {
         totalMisses = 0;
         gamesPlayed = 0;
         bestStreak = 0;
-        perStudentStats.clear();
+        Arrays.fill(correct, 0);
+        Arrays.fill(incorrect, 0);
+        Arrays.fill(streak, 0);
+        Arrays.fill(lastSeen, 0);
     }
     
     /**
-     * Statistics for an individual student.
+     * Recreates statistics read from disk, mapping stored names to student IDs.
+     */
+    public static GameStatistics fromStored(Stored stored) {
+        GameStatistics statistics = new GameStatistics();
+        statistics.totalMatches = stored.totalMatches();
+        statistics.totalMisses = stored.totalMisses();
+        statistics.gamesPlayed = stored.gamesPlayed();
+        statistics.bestStreak = stored.bestStreak();
+        statistics.journalSequence = stored.journalSequence();
+        
+        if (stored.perStudentStats() != null) {
+            stored.perStudentStats().forEach((name, stats) -> statistics.restore(StudentIds.internSaved(name),
+                stats.getCorrect(), stats.getIncorrect(), stats.getStreak(), stats.getLastSeen()));
+        }
+        StudentColumns students = stored.students();
+        if (students != null && students.names() != null) {
+            for (int row = 0; row < students.names().length; row++) {
+                statistics.restore(StudentIds.internSaved(students.names()[row]), students.correct()[row],
+                    students.incorrect()[row], students.streak()[row], students.lastSeen()[row]);
+            }
+        }
+        return statistics;
+    }
+    
+    /**
+     * Adds saved counters to a student. Older files can hold two names that
+     * now squash to the same key; their counts are summed, and the streak of
+     * the one seen last is kept.
+     */
+    private void restore(int studentId, int correct, int incorrect, int streak, long lastSeen) {
+        ensureCapacity(studentId + 1);
+        this.correct[studentId] += correct;
+        this.incorrect[studentId] += incorrect;
+        if (lastSeen >= this.lastSeen[studentId]) {
+            this.streak[studentId] = streak;
+            this.lastSeen[studentId] = lastSeen;
+        }
+    }
+    
+    /**
+     * Gets the statistics in their on-disk form. Only students with answers are included.
+     */
+    public Stored toStored() {
+        int limit = Math.min(correct.length, StudentIds.count());
+        int rows = 0;
+        for (int id = 0; id < limit; id++) {
+            if (hasAnswers(id)) {
+                rows++;
+            }
+        }
+        
+        StudentColumns students = new StudentColumns(new String[rows], new int[rows], new int[rows],
+                                                     new int[rows], new long[rows]);
+        int row = 0;
+        for (int id = 0; id < limit; id++) {
+            if (hasAnswers(id)) {
+                students.names()[row] = StudentIds.name(id);
+                students.correct()[row] = correct[id];
+                students.incorrect()[row] = incorrect[id];
+                students.streak()[row] = streak[id];
+                students.lastSeen()[row] = lastSeen[id];
+                row++;
+            }
+        }
+        return new Stored(totalMatches, totalMisses, gamesPlayed, bestStreak, journalSequence, students, null);
+    }
+    
+    /**
+     * The statistics as saved in statistics.json. Files written before the
+     * columnar format hold a perStudentStats map instead of students; both
+     * are read, and only students is written.
+     */
+    public record Stored(
+        int totalMatches,
+        int totalMisses,
+        int gamesPlayed,
+        int bestStreak,
+        long journalSequence,
+        StudentColumns students,
+        Map<String, StudentStats> perStudentStats
+    ) {}
+    
+    /**
+     * Per-student counters on disk: row i of every column belongs to names[i].
+     */
+    public record StudentColumns(String[] names, int[] correct, int[] incorrect, int[] streak, long[] lastSeen) {}
+    
+    /**
+     * Statistics for an individual student, as stored in the older perStudentStats map.
      */
     public static class StudentStats {
         private int correct;
         private int incorrect;
+        private int streak;
+        private long lastSeen;
         
         public StudentStats() {
             this.correct = 0;
             this.incorrect = 0;
+            this.streak = 0;
+            this.lastSeen = 0;
         }
         
         public int getCorrect() {
@@ -125,12 +322,36 @@ public class GameStatistics {
             this.incorrect = incorrect;
         }
         
+        /**
+         * Gets the number of correct answers in a row, reset by a miss.
+         */
+        public int getStreak() {
+            return streak;
+        }
+        
+        public void setStreak(int streak) {
+            this.streak = streak;
+        }
+        
+        /**
+         * Gets when the student was last asked about, in epoch milliseconds (0 if never or unknown).
+         */
+        public long getLastSeen() {
+            return lastSeen;
+        }
+        
+        public void setLastSeen(long lastSeen) {
+            this.lastSeen = lastSeen;
+        }
+        
         public void incrementCorrect() {
             correct++;
+            streak++;
         }
         
         public void incrementIncorrect() {
             incorrect++;
+            streak = 0;
         }
         
         public double getAccuracy() {
@@ -0,0 +1,36 @@
+package com.example.namegame.model;
+
+/**
+ * Decides which student a game session asks about next. Students are referred
+ * to by their index in the session's student list.
+ */
+public interface QuestionScheduler {
+    
+    /**
+     * Gets the student currently being asked about.
+     * @return The student index, or -1 if no questions are left
+     */
+    int current();
+    
+    /**
+     * Records the answer for the current student and moves to the next question.
+     */
+    void answered(boolean correct);
+    
+    /**
+     * Gets the students that will be asked after the current one, in order.
+     * @param count Maximum number of students to return
+     */
+    int[] upcoming(int count);
+    
+    /**
+     * Gets the number of questions left, including the current one.
+     */
+    int remaining();
+    
+    /**
+     * Gets the number of questions in the session so far: those answered plus
+     * those remaining. May grow during the session if missed students are repeated.
+     */
+    int total();
+}
@@ -0,0 +1,57 @@
+package com.example.namegame.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Asks about every student exactly once, in random order. The order is shuffled
+ * once up front and walked with a cursor, so each step is constant time.
+ */
+public class ShuffledScheduler implements QuestionScheduler {
+    private static final Random RANDOM = new Random();
+    
+    private final int[] order;
+    private int cursor;
+    
+    public ShuffledScheduler(int studentCount) {
+        this.order = new int[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            order[i] = i;
+        }
+        for (int i = studentCount - 1; i > 0; i--) {
+            int j = RANDOM.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+    
+    @Override
+    public int current() {
+        return cursor < order.length ? order[cursor] : -1;
+    }
+    
+    @Override
+    public void answered(boolean correct) {
+        if (cursor < order.length) {
+            cursor++;
+        }
+    }
+    
+    @Override
+    public int[] upcoming(int count) {
+        int from = Math.min(cursor + 1, order.length);
+        int to = (int) Math.min((long) from + Math.max(count, 0), order.length);
+        return Arrays.copyOfRange(order, from, to);
+    }
+    
+    @Override
+    public int remaining() {
+        return order.length - cursor;
+    }
+    
+    @Override
+    public int total() {
+        return order.length;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.namegame.model;
+
+import com.example.namegame.util.IndexedPriorityQueue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders questions Leitner-style from each student's saved statistics, so the
+ * names an instructor keeps missing or hasn't seen in a while come up first,
+ * and well-known names are skipped until they are due again.
+ * <p>
+ * Each student sits in a box given by their run of correct answers; a higher
+ * box means a longer interval before the name is due again, and misses pull
+ * the due time earlier. A session asks about every due student (at least
+ * {@value #MIN_QUESTIONS} questions while the roster allows). A student missed
+ * during the session is asked again {@value #RELEARN_GAP} questions later; if
+ * fewer questions are left, the next students by due time are added to fill
+ * the gap. Only when the whole roster has been used up does the repeat come
+ * sooner, right after the questions that are left, or straight away if there
+ * are none.
+ * <p>
+ * Questions are held in an {@link IndexedPriorityQueue}, so picking the next
+ * question or re-queueing a missed one is O(log n).
+ */
+public class SpacedRepetitionScheduler implements QuestionScheduler {
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    /** How long after the last answer a student is due again, by box. */
+    private static final long[] BOX_INTERVALS_MS = {0, DAY_MS, 3 * DAY_MS, 7 * DAY_MS, 14 * DAY_MS, 30 * DAY_MS};
+
+    /** How far a 100% miss rate moves the due time forward. */
+    private static final long MISS_WEIGHT_MS = 2 * DAY_MS;
+
+    /** Random spread added to due times, so equally due students come in random order. */
+    private static final long JITTER_MS = TimeUnit.HOURS.toMillis(1);
+
+    static final int MIN_QUESTIONS = 20;
+    private static final int RELEARN_GAP = 3;
+    private static final int MAX_REPEATS = 2;
+
+    /** Spacing between planned questions' priorities, leaving room to slot repeats in between. */
+    private static final long SLOT = 1024;
+
+    private static final Random RANDOM = new Random();
+
+    private final IndexedPriorityQueue queue;
+    // Students not planned for the session, by due time, for filling the gap before a repeat
+    private final IndexedPriorityQueue reserve;
+    private final byte[] repeats;
+    private long lastPriority;
+    private int current;
+    private int answered;
+
+    /**
+     * Plans a session.
+     * @param students The session's students
+     * @param stats Saved statistics
+     * @param now The current time in epoch milliseconds
+     */
+    public SpacedRepetitionScheduler(List<Student> students, GameStatistics stats, long now) {
+        int count = students.size();
+        this.queue = new IndexedPriorityQueue(count);
+        this.repeats = new byte[count];
+
+        // Rank everyone by due time and count who is due now
+        IndexedPriorityQueue byDue = new IndexedPriorityQueue(count);
+        int due = 0;
+        for (int i = 0; i < count; i++) {
+            long dueAt = dueAt(stats, students.get(i).id());
+            if (dueAt <= now) {
+                due++;
+            }
+            byDue.offer(i, dueAt + (long) (RANDOM.nextDouble() * JITTER_MS));
+        }
+
+        int planned = Math.min(count, Math.max(due, MIN_QUESTIONS));
+        for (int rank = 0; rank < planned; rank++) {
+            queue.offer(byDue.poll(), rank * SLOT);
+        }
+        this.reserve = byDue;
+        this.lastPriority = (planned - 1) * SLOT;
+        this.current = queue.isEmpty() ? -1 : queue.poll();
+    }
+
+    /**
+     * Computes when a student is next due from their statistics.
+     */
+    static long dueAt(GameStatistics stats, int studentId) {
+        if (!stats.hasAnswers(studentId)) {
+            // Never asked: due now, like a student who is always missed
+            return -MISS_WEIGHT_MS / 2;
+        }
+        int box = Math.min(stats.getStreak(studentId), BOX_INTERVALS_MS.length - 1);
+        int incorrect = stats.getIncorrect(studentId);
+        int total = stats.getCorrect(studentId) + incorrect;
+        // Smoothed, so a single answer doesn't decide the rate
+        double missRate = (incorrect + 1.0) / (total + 2.0);
+        return stats.getLastSeen(studentId) + BOX_INTERVALS_MS[box] - (long) (missRate * MISS_WEIGHT_MS);
+    }
+
+    @Override
+    public int current() {
+        return current;
+    }
+
+    @Override
+    public void answered(boolean correct) {
+        if (current < 0) {
+            return;
+        }
+        answered++;
+        if (!correct && repeats[current] < MAX_REPEATS) {
+            repeats[current]++;
+            queue.offer(current, repeatPriority());
+        }
+        current = queue.isEmpty() ? -1 : queue.poll();
+    }
+
+    /**
+     * Picks a priority that puts a missed student right after the next
+     * {@value #RELEARN_GAP} questions, first topping the queue up from the
+     * reserve if fewer are left. Goes last if the reserve is used up too.
+     */
+    private long repeatPriority() {
+        while (queue.size() < RELEARN_GAP && !reserve.isEmpty()) {
+            lastPriority += SLOT;
+            queue.offer(reserve.poll(), lastPriority);
+        }
+        int[] ahead = queue.smallest(RELEARN_GAP);
+        if (ahead.length == RELEARN_GAP) {
+            return queue.priorityOf(ahead[RELEARN_GAP - 1]) + 1;
+        }
+        lastPriority += SLOT;
+        return lastPriority;
+    }
+
+    @Override
+    public int[] upcoming(int count) {
+        return queue.smallest(count);
+    }
+
+    @Override
+    public int remaining() {
+        return queue.size() + (current >= 0 ? 1 : 0);
+    }
+
+    @Override
+    public int total() {
+        return answered + remaining();
+    }
+}
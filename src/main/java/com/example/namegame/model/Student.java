@@ -1,42 +1,63 @@
 package com.example.namegame.model;
 
+import com.example.namegame.util.NameNormalizer;
+
 import java.nio.file.Path;
 import java.util.Objects;
 
 /**
  * Represents a student with their name and photo.
+ * <p>
+ * The squashed name used as the student's key for matching and statistics,
+ * and the student's ID from {@link StudentIds}, are worked out once when the
+ * student is created, so recording an answer only reads a field. Both are
+ * derived from the names: the compact constructor rejects values that don't
+ * match, so two students with the same names are always equal.
  */
 public record Student(
     String firstName,
     String lastName,
-    Path imagePath
+    Path imagePath,
+    String squashedName,
+    int id
 ) {
     public Student {
         Objects.requireNonNull(firstName, "First name is required");
         Objects.requireNonNull(lastName, "Last name is required");
         Objects.requireNonNull(imagePath, "Image path is required");
+        if (!NameNormalizer.DEFAULT.squash(lastName, firstName).equals(squashedName)) {
+            throw new IllegalArgumentException("Squashed name " + squashedName + " doesn't match " +
+                                               lastName + ", " + firstName);
+        }
+        if (id < 0 || id >= StudentIds.count() || !StudentIds.name(id).equals(squashedName)) {
+            throw new IllegalArgumentException("ID " + id + " doesn't belong to " + squashedName);
+        }
+    }
+
+    /**
+     * Creates a student, squashing the name and looking up its ID.
+     */
+    public Student(String firstName, String lastName, Path imagePath) {
+        this(firstName, lastName, imagePath, NameNormalizer.DEFAULT.squash(
+            Objects.requireNonNull(lastName, "Last name is required"),
+            Objects.requireNonNull(firstName, "First name is required")));
+    }
+
+    private Student(String firstName, String lastName, Path imagePath, String squashedName) {
+        this(firstName, lastName, imagePath, squashedName, StudentIds.intern(squashedName));
     }
-    
+
     /**
      * Returns the display name in natural "First Last" format.
      */
     public String displayName() {
         return firstName + " " + lastName;
     }
-    
+
     /**
      * Returns the name in roster format "Last, First".
      */
     public String rosterName() {
         return lastName + ", " + firstName;
     }
-    
-    /**
-     * Returns a squashed version of the name for matching (e.g., "smithjohn").
-     */
-    public String squashedName() {
-        return (lastName + firstName)
-            .toLowerCase()
-            .replaceAll("[\\s',.-]", "");
-    }
 }
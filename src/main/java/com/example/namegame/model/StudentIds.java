@@ -0,0 +1,79 @@
+package com.example.namegame.model;
+
+import com.example.namegame.util.NameNormalizer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out dense integer IDs for squashed student names. A name gets its ID
+ * the first time it is seen and keeps it for the rest of the run, so
+ * per-student data can be kept in arrays indexed by ID instead of in maps.
+ * IDs are not saved; files store names and are mapped back to IDs on load.
+ * <p>
+ * IDs are never released, since the lifetime statistics index their columns
+ * by ID across every section. The registry is bounded by the number of
+ * distinct names seen in one run: the names of every roster loaded or
+ * imported plus those in the saved statistics. Each takes roughly 100 bytes,
+ * so even 100,000 names stay around 10 MB.
+ */
+public final class StudentIds {
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[256];
+    private static volatile int count;
+
+    private StudentIds() {
+    }
+
+    /**
+     * Gets the ID for a squashed name, assigning the next free one if the name is new.
+     */
+    public static int intern(String squashedName) {
+        Integer id = IDS.get(squashedName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (StudentIds.class) {
+            id = IDS.get(squashedName);
+            if (id != null) {
+                return id;
+            }
+            int next = count;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, next * 2);
+            }
+            names[next] = squashedName;
+            // Publish the name before the ID, so anyone holding the ID can look it up
+            count = next + 1;
+            IDS.put(squashedName, next);
+            return next;
+        }
+    }
+
+    /**
+     * Gets the ID for a squashed name read from a file. The name is squashed
+     * again first, since files written by older versions may use keys from
+     * before accent folding; already squashed names are unchanged.
+     */
+    public static int internSaved(String squashedName) {
+        return intern(NameNormalizer.DEFAULT.squash(squashedName));
+    }
+
+    /**
+     * Gets the squashed name an ID was assigned to.
+     */
+    public static String name(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Unknown student ID: " + id);
+        }
+        return names[id];
+    }
+
+    /**
+     * Gets the number of IDs assigned so far; every ID is below this.
+     */
+    public static int count() {
+        return count;
+    }
+}
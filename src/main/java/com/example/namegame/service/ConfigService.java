@@ -5,17 +5,32 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
  * Manages application configuration stored in a properties file.
  * Supports both installed mode (~/.namegame/) and portable mode (./data/).
+ * The {@value #DATA_DIRECTORY_PROPERTY} system property overrides both, e.g.
+ * for batch runs that must not touch a teacher's own data.
  */
 public class ConfigService {
+    /** System property naming a data directory to use instead of the default one. */
+    public static final String DATA_DIRECTORY_PROPERTY = "namegame.data.dir";
     private static final String CONFIG_FILE = "config.properties";
     private static final String PORTABLE_MARKER = "portable.txt";
     private static final String KEY_IMAGES_DIRECTORY = "images.directory";
     private static final String KEY_FIRST_LAUNCH = "first.launch";
+    private static final String KEY_PREFETCH_DEPTH = "prefetch.depth";
+    private static final int DEFAULT_PREFETCH_DEPTH = 3;
+    private static final int MAX_PREFETCH_DEPTH = 20;
+    private static final String KEY_RECENT_DIRECTORIES = "recent.directories";
+    private static final int MAX_RECENT_DIRECTORIES = 8;
+    private static final String KEY_MATCHING_ROUND_SIZE = "matching.round.size";
+    private static final int DEFAULT_MATCHING_ROUND_SIZE = 12;
+    private static final String KEY_SPACED_REPETITION = "spaced.repetition";
+    private static final String KEY_HARD_DISTRACTORS = "distractors.hard";
     
     private static ConfigService instance;
     
@@ -42,6 +57,11 @@ public class ConfigService {
      * Determines the data directory based on portable mode.
      */
     private Path determineDataDirectory() {
+        String override = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Path.of(override).toAbsolutePath();
+        }
+        
         // Check for portable marker in application directory
         Path appDir = getApplicationDirectory();
         Path portableMarker = appDir.resolve(PORTABLE_MARKER);
@@ -139,6 +159,96 @@ public class ConfigService {
     
     public void setImagesDirectory(Path directory) {
         properties.setProperty(KEY_IMAGES_DIRECTORY, directory.toString());
+        
+        // Remember the directory as a recent section, most recent first
+        List<Path> recent = new ArrayList<>(getRecentDirectories());
+        recent.remove(directory);
+        recent.add(0, directory);
+        List<String> entries = recent.stream()
+            .limit(MAX_RECENT_DIRECTORIES)
+            .map(Path::toString)
+            .toList();
+        properties.setProperty(KEY_RECENT_DIRECTORIES, String.join("\n", entries));
+        save();
+    }
+    
+    /**
+     * Gets the recently used images directories (class sections), most recent first.
+     */
+    public List<Path> getRecentDirectories() {
+        String value = properties.getProperty(KEY_RECENT_DIRECTORIES);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return value.lines()
+            .filter(line -> !line.isBlank())
+            .map(Path::of)
+            .toList();
+    }
+    
+    /**
+     * Gets how many upcoming students' photos are decoded ahead of time during a game.
+     */
+    public int getPrefetchDepth() {
+        String value = properties.getProperty(KEY_PREFETCH_DEPTH);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_PREFETCH_DEPTH;
+        }
+        try {
+            return Math.clamp(Integer.parseInt(value.trim()), 0, MAX_PREFETCH_DEPTH);
+        } catch (NumberFormatException e) {
+            return DEFAULT_PREFETCH_DEPTH;
+        }
+    }
+    
+    public void setPrefetchDepth(int depth) {
+        properties.setProperty(KEY_PREFETCH_DEPTH, String.valueOf(Math.clamp(depth, 0, MAX_PREFETCH_DEPTH)));
+        save();
+    }
+    
+    /**
+     * Gets how many students the matching game shows at a time, or 0 to show everyone at once.
+     */
+    public int getMatchingRoundSize() {
+        String value = properties.getProperty(KEY_MATCHING_ROUND_SIZE);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MATCHING_ROUND_SIZE;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_MATCHING_ROUND_SIZE;
+        }
+    }
+    
+    public void setMatchingRoundSize(int size) {
+        properties.setProperty(KEY_MATCHING_ROUND_SIZE, String.valueOf(Math.max(0, size)));
+        save();
+    }
+    
+    /**
+     * Gets whether quizzes ask the names that are due for review first instead
+     * of every student in random order.
+     */
+    public boolean isSpacedRepetition() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_SPACED_REPETITION, "false").trim());
+    }
+    
+    public void setSpacedRepetition(boolean enabled) {
+        properties.setProperty(KEY_SPACED_REPETITION, String.valueOf(enabled));
+        save();
+    }
+    
+    /**
+     * Gets whether multiple choice offers names similar to the right answer
+     * instead of random ones.
+     */
+    public boolean isHardDistractors() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_HARD_DISTRACTORS, "false").trim());
+    }
+    
+    public void setHardDistractors(boolean enabled) {
+        properties.setProperty(KEY_HARD_DISTRACTORS, String.valueOf(enabled));
         save();
     }
     
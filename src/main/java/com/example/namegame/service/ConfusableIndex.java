@@ -0,0 +1,176 @@
+package com.example.namegame.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The names most easily confused with each roster name, for hard multiple
+ * choice distractors. Similarity is the edit distance between squashed names,
+ * lowered for a shared first name and for matching initials. Names more than
+ * {@value #MAX_DISTANCE} edits apart are not considered confusable.
+ * <p>
+ * Comparing every pair of names is quadratic, so candidates come from a
+ * sorted-neighbourhood pass instead: names are sorted by squashed name (last
+ * name first) and by first name, and each name is only scored against the
+ * {@value #WINDOW} names on either side in both orders. Sorting puts names
+ * with the same initial, a common last-name prefix or the same first name next
+ * to each other, so building takes O(n log n) and a lookup is a map get.
+ * Built once per roster load and read-only afterwards.
+ */
+public final class ConfusableIndex {
+    /** Neighbours kept per name; more than a question needs, since some may not be in the game. */
+    static final int NEIGHBORS = 8;
+    private static final int WINDOW = 5;
+    private static final int MAX_DISTANCE = 4;
+    private static final int SHARED_FIRST_NAME_BONUS = 3;
+    private static final int SAME_INITIAL_BONUS = 1;
+    private static final int NONE = -1;
+
+    private final Map<String, String> source;
+    private final String[] keys;
+    private final Map<String, Integer> idOf;
+    // NEIGHBORS entries per name, most confusable first, padded with NONE
+    private final int[] neighbors;
+
+    private ConfusableIndex(Map<String, String> source, String[] keys, Map<String, Integer> idOf, int[] neighbors) {
+        this.source = source;
+        this.keys = keys;
+        this.idOf = idOf;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Builds the index over a squashed-to-original roster map, as kept by {@link RosterService}.
+     */
+    public static ConfusableIndex build(Map<String, String> squashedToOriginal) {
+        String[] keys = squashedToOriginal.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+        int count = keys.length;
+
+        char[][] chars = new char[count][];
+        String[] firstNames = new String[count];
+        Map<String, Integer> idOf = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            chars[i] = keys[i].toCharArray();
+            String[] parts = RosterService.parseRosterName(squashedToOriginal.get(keys[i]));
+            firstNames[i] = FuzzyMatcher.squashRosterName(parts[0]);
+            idOf.put(keys[i], i);
+        }
+
+        // keys is already in squashed-name order; this is the first-name order
+        int[] byFirstName = IntStream.range(0, count).boxed()
+            .sorted(Comparator.comparing((Integer i) -> firstNames[i]).thenComparing(i -> keys[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        int[] firstNameRank = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            firstNameRank[byFirstName[rank]] = rank;
+        }
+
+        int longest = Arrays.stream(keys).mapToInt(String::length).max().orElse(0);
+        int[] previous = new int[longest + 1];
+        int[] current = new int[longest + 1];
+        int[] neighbors = new int[count * NEIGHBORS];
+        int[] bestCost = new int[NEIGHBORS];
+        Arrays.fill(neighbors, NONE);
+
+        for (int i = 0; i < count; i++) {
+            int base = i * NEIGHBORS;
+            int kept = 0;
+            // Nearest first in both orders, so the cutoff tightens early: +1, -1, +2, -2, ...
+            for (int step = 0; step < 4 * WINDOW; step++) {
+                int offset = (step / 4 + 1) * ((step & 1) == 0 ? 1 : -1);
+                boolean byFirst = (step & 2) != 0;
+                int rank = (byFirst ? firstNameRank[i] : i) + offset;
+                if (rank < 0 || rank >= count) {
+                    continue;
+                }
+                int other = byFirst ? byFirstName[rank] : rank;
+                if (contains(neighbors, base, kept, other)) {
+                    continue;
+                }
+
+                int bonus = (firstNames[i].equals(firstNames[other]) ? SHARED_FIRST_NAME_BONUS : 0)
+                    + (sameInitial(keys[i], keys[other]) ? SAME_INITIAL_BONUS : 0)
+                    + (sameInitial(firstNames[i], firstNames[other]) ? SAME_INITIAL_BONUS : 0);
+                // Once the list is full, a candidate only matters if it beats the worst kept cost
+                int limit = kept < NEIGHBORS ? MAX_DISTANCE
+                    : Math.min(MAX_DISTANCE, bestCost[NEIGHBORS - 1] + bonus - 1);
+                if (limit < 0) {
+                    continue;
+                }
+                int distance = FuzzyMatcher.boundedDistance(chars[i], chars[other], limit, previous, current);
+                if (distance > limit) {
+                    continue;
+                }
+                kept = insert(neighbors, bestCost, base, kept, other, distance - bonus);
+            }
+        }
+        return new ConfusableIndex(squashedToOriginal, keys, idOf, neighbors);
+    }
+
+    /**
+     * Gets the map this index was built from.
+     */
+    public Map<String, String> source() {
+        return source;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the squashed names most easily confused with a squashed name, most
+     * confusable first, or an empty list if the name isn't in the roster.
+     */
+    public List<String> neighbors(String squashedName) {
+        Integer id = idOf.get(squashedName);
+        if (id == null) {
+            return List.of();
+        }
+        int base = id * NEIGHBORS;
+        int count = 0;
+        while (count < NEIGHBORS && neighbors[base + count] != NONE) {
+            count++;
+        }
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = keys[neighbors[base + i]];
+        }
+        return List.of(result);
+    }
+
+    private static boolean sameInitial(String a, String b) {
+        return !a.isEmpty() && !b.isEmpty() && a.charAt(0) == b.charAt(0);
+    }
+
+    private static boolean contains(int[] neighbors, int base, int kept, int id) {
+        for (int i = 0; i < kept; i++) {
+            if (neighbors[base + i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts a candidate into a name's neighbour list, kept sorted by cost.
+     * @return The new number of kept neighbours
+     */
+    private static int insert(int[] neighbors, int[] bestCost, int base, int kept, int id, int cost) {
+        int slot = Math.min(kept, NEIGHBORS - 1);
+        while (slot > 0 && bestCost[slot - 1] > cost) {
+            bestCost[slot] = bestCost[slot - 1];
+            neighbors[base + slot] = neighbors[base + slot - 1];
+            slot--;
+        }
+        bestCost[slot] = cost;
+        neighbors[base + slot] = id;
+        return Math.min(kept + 1, NEIGHBORS);
+    }
+}
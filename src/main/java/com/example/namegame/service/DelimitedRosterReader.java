@@ -0,0 +1,204 @@
+package com.example.namegame.service;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the "Name" column of a CSV or TSV roster.
+ * <p>
+ * The file is scanned as raw bytes: delimiters, quotes and line breaks are all
+ * ASCII, so they can be found without decoding, and only the header and the
+ * Name column's fields are ever turned into strings. Quoted fields may contain
+ * delimiters, line breaks and doubled quotes.
+ * <p>
+ * Files are read as UTF-8, which is what Excel's "CSV UTF-8" export writes.
+ * A file that isn't valid UTF-8 is taken to be windows-1252, the encoding of
+ * Excel's plain "CSV (Comma delimited)" export on Western systems. Files with
+ * a UTF-16 byte order mark, such as Excel's "Unicode Text" export, are
+ * converted to UTF-8 first.
+ */
+final class DelimitedRosterReader {
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private final byte[] data;
+    private final byte delimiter;
+    private final Charset charset;
+    private int pos;
+
+    private DelimitedRosterReader(byte[] data, byte delimiter, Charset charset) {
+        this.data = data;
+        this.delimiter = delimiter;
+        this.charset = charset;
+    }
+
+    /**
+     * Reads the non-blank names below the "Name" header.
+     * @param delimiter ',' for CSV or '\t' for TSV
+     * @return The names, or null if the header has no "Name" column
+     * @throws IOException If the file can't be read
+     */
+    static List<String> readNames(Path rosterFile, char delimiter) throws IOException {
+        byte[] data = Files.readAllBytes(rosterFile);
+        if (hasUtf16ByteOrderMark(data)) {
+            // Re-encoded once, so fields can still be found as ASCII bytes
+            data = new String(data, StandardCharsets.UTF_16).getBytes(StandardCharsets.UTF_8);
+        }
+        Charset charset = isValidUtf8(data) ? StandardCharsets.UTF_8 : WINDOWS_1252;
+        return new DelimitedRosterReader(data, (byte) delimiter, charset).parse();
+    }
+
+    private static boolean hasUtf16ByteOrderMark(byte[] data) {
+        return data.length >= 2 && ((data[0] & 0xFF) == 0xFE && (data[1] & 0xFF) == 0xFF ||
+                                    (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xFE);
+    }
+
+    /**
+     * Checks that every multi-byte sequence is well-formed UTF-8. Text in a
+     * single-byte encoding almost never is, since an accented letter there is
+     * a lone byte of 0x80 or above followed by ASCII.
+     */
+    private static boolean isValidUtf8(byte[] data) {
+        int i = 0;
+        while (i < data.length) {
+            int b = data[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int continuation;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+            } else {
+                return false;
+            }
+            if (i + continuation >= data.length) {
+                return false;
+            }
+            for (int j = 1; j <= continuation; j++) {
+                if ((data[i + j] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    private List<String> parse() {
+        skipByteOrderMark();
+
+        int nameColumn = -1;
+        List<String> names = new ArrayList<>();
+        boolean header = true;
+        while (pos < data.length) {
+            int column = 0;
+            boolean endOfRecord = false;
+            while (!endOfRecord) {
+                boolean wanted = header || column == nameColumn;
+                String value = readField(wanted);
+                if (wanted) {
+                    value = value.trim();
+                    if (header) {
+                        if (nameColumn < 0 && "Name".equalsIgnoreCase(value)) {
+                            nameColumn = column;
+                        }
+                    } else if (!value.isEmpty()) {
+                        names.add(value);
+                    }
+                }
+                endOfRecord = endField();
+                column++;
+            }
+            if (header) {
+                if (nameColumn < 0) {
+                    return null;
+                }
+                header = false;
+            }
+        }
+        return nameColumn >= 0 ? names : null;
+    }
+
+    private void skipByteOrderMark() {
+        if (data.length >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF) {
+            pos = 3;
+        }
+    }
+
+    /**
+     * Reads one field, leaving {@code pos} on the delimiter or line break after it.
+     * @param decode Whether the field's text is needed; if not it is only skipped
+     */
+    private String readField(boolean decode) {
+        if (pos < data.length && data[pos] == QUOTE) {
+            int start = ++pos;
+            boolean escapedQuotes = false;
+            while (pos < data.length) {
+                if (data[pos] == QUOTE) {
+                    if (pos + 1 < data.length && data[pos + 1] == QUOTE) {
+                        escapedQuotes = true;
+                        pos += 2;
+                        continue;
+                    }
+                    break;
+                }
+                pos++;
+            }
+            int end = pos;
+            if (pos < data.length) {
+                pos++; // closing quote
+            }
+            // Tolerate stray text between the closing quote and the delimiter
+            skipToFieldEnd();
+            if (!decode) {
+                return null;
+            }
+            String value = new String(data, start, end - start, charset);
+            return escapedQuotes ? value.replace("\"\"", "\"") : value;
+        }
+
+        int start = pos;
+        skipToFieldEnd();
+        return decode ? new String(data, start, pos - start, charset) : null;
+    }
+
+    private void skipToFieldEnd() {
+        while (pos < data.length) {
+            byte b = data[pos];
+            if (b == delimiter || b == CR || b == LF) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Consumes the delimiter or line break after a field.
+     * @return true if it ended the record
+     */
+    private boolean endField() {
+        if (pos >= data.length) {
+            return true;
+        }
+        byte b = data[pos++];
+        if (b == delimiter) {
+            return false;
+        }
+        if (b == CR && pos < data.length && data[pos] == LF) {
+            pos++;
+        }
+        return true;
+    }
+}
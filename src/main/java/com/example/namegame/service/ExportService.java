@@ -31,9 +31,13 @@ public class ExportService {
     public void exportData(Path destination) throws IOException {
         Path dataDir = ConfigService.getInstance().getDataDirectory();
         
+        // Make sure queued statistics are on disk before archiving
+        StatisticsService.getInstance().flush();
+        
         try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(destination.toFile()))) {
             Files.walk(dataDir)
                 .filter(Files::isRegularFile)
+                .filter(file -> !isRebuildableCache(dataDir.relativize(file)))
                 .forEach(file -> {
                     try {
                         String entryName = dataDir.relativize(file).toString();
@@ -50,6 +54,18 @@ public class ExportService {
         }
     }
     
+    /**
+     * Checks if a data file is a cache the app rebuilds on its own, which would
+     * only bloat a backup.
+     */
+    private boolean isRebuildableCache(Path relative) {
+        String name = relative.getFileName().toString();
+        return relative.startsWith("thumbnails") ||
+               name.equals("match-cache.json") ||
+               name.startsWith("roster-cache") ||
+               name.endsWith(".tmp");
+    }
+    
     /**
      * Imports data from a ZIP file.
      * @param source The source ZIP file path
@@ -63,6 +79,9 @@ public class ExportService {
             throw new IOException("Invalid backup file: missing expected configuration files");
         }
         
+        // Fold queued statistics into the snapshot so the local journal isn't replayed over the import
+        StatisticsService.getInstance().prepareForImport();
+        
         try (ZipInputStream zis = new ZipInputStream(new FileInputStream(source.toFile()))) {
             ZipEntry entry;
             byte[] buffer = new byte[BUFFER_SIZE];
@@ -1,57 +1,117 @@
 package com.example.namegame.service;
 
 import com.example.namegame.model.ScoredMatch;
-import org.apache.commons.text.similarity.LevenshteinDistance;
+import com.example.namegame.model.Student;
+import com.example.namegame.util.NameNormalizer;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Provides fuzzy string matching using Levenshtein distance.
+ * Lookups go through the roster's {@link NameIndex}, which is built once per
+ * roster and kept with it (see {@link RosterService#getIndex()}).
  */
 public class FuzzyMatcher {
     private static final int MAX_SUGGESTIONS = 5;
     private static final int STRONG_MATCH_THRESHOLD = 3;
     
-    private final LevenshteinDistance levenshtein;
+    // Stands in for "infinity" outside the band; small enough that 1 + it can't overflow
+    private static final int BAND_EDGE = Integer.MAX_VALUE / 2;
     
     public FuzzyMatcher() {
-        this.levenshtein = LevenshteinDistance.getDefaultInstance();
     }
     
     /**
      * Finds the closest matches for a squashed name.
      * @param squashedFilename The squashed name from the filename (e.g., "smithjohn")
-     * @param squashedToOriginal Map of squashed roster names to original roster names
+     * @param index The roster's name index
      * @return List of scored matches, sorted by distance (best first)
      */
-    public List<ScoredMatch> findMatches(String squashedFilename, Map<String, String> squashedToOriginal) {
-        String target = squashedFilename.toLowerCase();
-        
-        return squashedToOriginal.entrySet().stream()
-            .map(entry -> {
-                int distance = levenshtein.apply(target, entry.getKey());
-                return new ScoredMatch(entry.getValue(), distance);
-            })
-            .sorted()
-            .limit(MAX_SUGGESTIONS)
-            .collect(Collectors.toList());
+    public List<ScoredMatch> findMatches(String squashedFilename, NameIndex index) {
+        // A key that is already squashed comes back as is, without a copy
+        String target = NameNormalizer.DEFAULT.squash(squashedFilename);
+        return index.nearest(target, MAX_SUGGESTIONS, Integer.MAX_VALUE);
     }
     
     /**
      * Finds the best match if it's within the threshold.
      * @param squashedFilename The squashed name from the filename
-     * @param squashedToOriginal Map of squashed roster names to original roster names
+     * @param index The roster's name index
      * @return The best match roster name, or null if no strong match
      */
-    public String findBestMatch(String squashedFilename, Map<String, String> squashedToOriginal) {
-        List<ScoredMatch> matches = findMatches(squashedFilename, squashedToOriginal);
+    public String findBestMatch(String squashedFilename, NameIndex index) {
+        // Only a strong match is accepted, so the search can stop at the threshold
+        String target = NameNormalizer.DEFAULT.squash(squashedFilename);
+        List<ScoredMatch> matches = index.nearest(target, 1, STRONG_MATCH_THRESHOLD);
         
-        if (!matches.isEmpty() && matches.get(0).isStrongMatch()) {
-            return matches.get(0).rosterName();
+        return matches.isEmpty() ? null : matches.get(0).rosterName();
+    }
+    
+    /**
+     * Computes the Levenshtein distance between two lower-case names, giving up
+     * as soon as it is known to exceed {@code maxDistance}.
+     * <p>
+     * Only the diagonal band of width {@code 2 * maxDistance + 1} is filled in,
+     * and the row buffers are supplied by the caller, so a comparison allocates
+     * nothing. Both buffers must hold at least {@code a.length + 1} entries.
+     * @return The distance, or {@code maxDistance + 1} if it exceeds the cutoff
+     */
+    static int boundedDistance(char[] a, char[] b, int maxDistance, int[] previous, int[] current) {
+        int n = a.length;
+        int m = b.length;
+        int k = Math.min(maxDistance, Math.max(n, m));
+        if (Math.abs(n - m) > k) {
+            return k + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
         }
         
-        return null;
+        int[] p = previous;
+        int[] d = current;
+        int boundary = Math.min(n, k) + 1;
+        for (int i = 0; i < boundary; i++) {
+            p[i] = i;
+        }
+        Arrays.fill(p, boundary, n + 1, BAND_EDGE);
+        Arrays.fill(d, 0, n + 1, BAND_EDGE);
+        
+        for (int j = 1; j <= m; j++) {
+            char bj = b[j - 1];
+            d[0] = j;
+            
+            // Only cells within k of the diagonal can hold a distance <= k
+            int min = Math.max(1, j - k);
+            int max = Math.min(n, j + k);
+            if (min > 1) {
+                d[min - 1] = BAND_EDGE;
+            }
+            
+            int lowest = min == 1 ? j : BAND_EDGE;
+            for (int i = min; i <= max; i++) {
+                int cost;
+                if (a[i - 1] == bj) {
+                    cost = p[i - 1];
+                } else {
+                    cost = 1 + Math.min(Math.min(d[i - 1], p[i]), p[i - 1]);
+                }
+                d[i] = cost;
+                if (cost < lowest) {
+                    lowest = cost;
+                }
+            }
+            
+            // The smallest value in a row never decreases in later rows, so the cutoff is already exceeded
+            if (lowest > k) {
+                return k + 1;
+            }
+            
+            int[] swap = p;
+            p = d;
+            d = swap;
+        }
+        
+        return p[n] <= k ? p[n] : k + 1;
     }
     
     /**
@@ -59,20 +119,8 @@ public class FuzzyMatcher {
      * "Smith, John" -> "smithjohn"
      */
     public static String squashRosterName(String rosterName) {
-        if (rosterName == null || rosterName.isEmpty()) {
-            return "";
-        }
-        
-        // Split on comma: "Smith, John" -> ["Smith", " John"]
-        String[] parts = rosterName.split(",", 2);
-        
-        String lastName = parts[0].trim();
-        String firstName = parts.length > 1 ? parts[1].trim() : "";
-        
-        // Combine and normalize
-        return (lastName + firstName)
-            .toLowerCase()
-            .replaceAll("[\\s',.-]", "");
+        // "Last, First" is already in key order, and the comma is dropped
+        return NameNormalizer.DEFAULT.squash(rosterName);
     }
     
     /**
@@ -80,31 +128,36 @@ public class FuzzyMatcher {
      * "SmithJohn_12345.jpg" -> "smithjohn"
      */
     public static String extractNameFromFilename(String filename) {
-        // Remove extension
-        int dotIndex = filename.lastIndexOf('.');
-        String withoutExt = dotIndex > 0 ? filename.substring(0, dotIndex) : filename;
-        
-        // Split on underscore, take first part
-        int underscoreIndex = withoutExt.indexOf('_');
-        String namePart = underscoreIndex > 0 ? withoutExt.substring(0, underscoreIndex) : withoutExt;
-        
-        // Normalize
-        return namePart.toLowerCase().replaceAll("[',.-]", "");
+        return NameNormalizer.DEFAULT.squashFilename(filename);
     }
     
     /**
      * Checks if a user input matches a student name (flexible matching).
-     * Accepts "First Last", "Last, First", case-insensitive, ignoring punctuation.
+     * Accepts "First Last", "Last, First", case-insensitive, ignoring spacing,
+     * punctuation and accents.
      */
     public static boolean isNameMatch(String input, String firstName, String lastName) {
-        if (input == null || input.trim().isEmpty()) {
+        if (input == null || input.isBlank()) {
             return false;
         }
         
-        String normalizedInput = input.trim().toLowerCase().replaceAll("[,.]", " ").replaceAll("\\s+", " ");
-        String firstLast = (firstName + " " + lastName).toLowerCase();
-        String lastFirst = (lastName + " " + firstName).toLowerCase();
+        String normalizedInput = NameNormalizer.DEFAULT.squash(input);
+        return normalizedInput.equals(NameNormalizer.DEFAULT.squash(firstName, lastName))
+            || normalizedInput.equals(NameNormalizer.DEFAULT.squash(lastName, firstName));
+    }
+    
+    /**
+     * Checks if a user input matches a student, like
+     * {@link #isNameMatch(String, String, String)}, but compares "Last, First"
+     * answers against the key the student already holds.
+     */
+    public static boolean isNameMatch(String input, Student student) {
+        if (input == null || input.isBlank()) {
+            return false;
+        }
         
-        return normalizedInput.equals(firstLast) || normalizedInput.equals(lastFirst);
+        String normalizedInput = NameNormalizer.DEFAULT.squash(input);
+        return normalizedInput.equals(student.squashedName())
+            || normalizedInput.equals(NameNormalizer.DEFAULT.squash(student.firstName(), student.lastName()));
     }
 }
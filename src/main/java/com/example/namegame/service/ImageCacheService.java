@@ -0,0 +1,291 @@
+package com.example.namegame.service;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes student photos on background threads and caches the decoded images.
+ * <p>
+ * Small sizes are decoded from {@link ThumbnailService} thumbnails when available.
+ * Images are cached per (path, requested size) in a least-recently-used map
+ * bounded by the estimated memory of the decoded pixels. Entries are held
+ * through soft references, so the garbage collector can still reclaim them
+ * under memory pressure.
+ */
+public class ImageCacheService {
+    private static final long MAX_CACHE_BYTES = 128L * 1024 * 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static ImageCacheService instance;
+
+    private final ExecutorService decoder;
+    private final LinkedHashMap<CacheKey, CachedImage> cache;
+    private final Map<CacheKey, PendingDecode> inFlight;
+    private long cachedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong pendingHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong prefetches = new AtomicLong();
+
+    private ImageCacheService() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        this.decoder = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-decoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new LinkedHashMap<>(256, 0.75f, true);
+        this.inFlight = new HashMap<>();
+    }
+
+    public static synchronized ImageCacheService getInstance() {
+        if (instance == null) {
+            instance = new ImageCacheService();
+        }
+        return instance;
+    }
+
+    /**
+     * Loads an image scaled to fit the given size, preserving its aspect ratio.
+     * Returns a completed future if the image is already cached; otherwise the
+     * image is decoded on a background thread. Concurrent requests for the same
+     * image share one decode.
+     * <p>
+     * Each caller gets its own future, which it may cancel when it no longer
+     * needs the image. A decode that every caller has cancelled before it
+     * started is skipped.
+     */
+    public synchronized CompletableFuture<Image> load(Path path, double width, double height) {
+        CacheKey key = new CacheKey(path, (int) Math.round(width), (int) Math.round(height));
+
+        Image cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        PendingDecode pending = inFlight.get(key);
+        if (pending != null) {
+            pendingHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            pending = startDecode(key);
+        }
+
+        PendingDecode decode = pending;
+        decode.waiters++;
+        CompletableFuture<Image> handle = decode.result.copy();
+        handle.whenComplete((image, error) -> {
+            if (handle.isCancelled()) {
+                release(decode);
+            }
+        });
+        return handle;
+    }
+
+    /**
+     * Starts decoding an image that is likely to be needed soon, unless it is
+     * already cached or being decoded. Not counted as a hit or miss.
+     */
+    public synchronized void prefetch(Path path, double width, double height) {
+        CacheKey key = new CacheKey(path, (int) Math.round(width), (int) Math.round(height));
+        if (lookup(key) == null && !inFlight.containsKey(key)) {
+            prefetches.incrementAndGet();
+            // The prefetch itself keeps the decode alive, as nobody can cancel it
+            startDecode(key).waiters++;
+        }
+    }
+
+    private PendingDecode startDecode(CacheKey key) {
+        PendingDecode pending = new PendingDecode();
+        inFlight.put(key, pending);
+        decoder.execute(() -> decode(key, pending));
+        return pending;
+    }
+
+    private synchronized void release(PendingDecode pending) {
+        pending.waiters--;
+    }
+
+    /**
+     * Checks if anyone still wants a decode that is about to start, dropping it if not.
+     */
+    private synchronized boolean claim(CacheKey key, PendingDecode pending) {
+        if (pending.waiters > 0) {
+            return true;
+        }
+        inFlight.remove(key, pending);
+        return false;
+    }
+
+    /**
+     * Gets an image if it is already decoded and cached, without loading it.
+     */
+    public synchronized Image getIfCached(Path path, double width, double height) {
+        return lookup(new CacheKey(path, (int) Math.round(width), (int) Math.round(height)));
+    }
+
+    private void decode(CacheKey key, PendingDecode pending) {
+        if (!claim(key, pending)) {
+            pending.result.cancel(false);
+            return;
+        }
+        CompletableFuture<Image> future = pending.result;
+        try {
+            // Prefer a stored thumbnail over decoding the full-size photo
+            Path thumbnail = ThumbnailService.getInstance().find(key.path(), key.width(), key.height());
+            Image image = null;
+            if (thumbnail != null) {
+                try {
+                    image = decodeFile(thumbnail, key);
+                } catch (IOException e) {
+                    // Thumbnail was pruned or damaged, fall back to the original
+                }
+            }
+            if (image == null) {
+                image = decodeFile(key.path(), key);
+            }
+            store(key, pending, image);
+            future.complete(image);
+        } catch (Exception e) {
+            forget(key, pending);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static Image decodeFile(Path file, CacheKey key) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            Image image = new Image(in, key.width(), key.height(), true, true);
+            if (image.isError()) {
+                throw new IOException("Failed to decode " + file, image.getException());
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Looks up a cached image, dropping the entry if it was reclaimed.
+     */
+    private Image lookup(CacheKey key) {
+        CachedImage entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Image image = entry.image().get();
+        if (image == null) {
+            cache.remove(key);
+            cachedBytes -= entry.bytes();
+        }
+        return image;
+    }
+
+    /**
+     * Caches a decoded image, unless its file was invalidated while it was being decoded.
+     */
+    private synchronized void store(CacheKey key, PendingDecode pending, Image image) {
+        inFlight.remove(key, pending);
+        if (pending.stale) {
+            return;
+        }
+        long bytes = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+        CachedImage previous = cache.put(key, new CachedImage(new SoftReference<>(image), bytes));
+        if (previous != null) {
+            cachedBytes -= previous.bytes();
+        }
+        cachedBytes += bytes;
+
+        // Evict least recently used images until the cache fits its budget
+        Iterator<Map.Entry<CacheKey, CachedImage>> eldest = cache.entrySet().iterator();
+        while (cachedBytes > MAX_CACHE_BYTES && eldest.hasNext()) {
+            CachedImage evicted = eldest.next().getValue();
+            eldest.remove();
+            cachedBytes -= evicted.bytes();
+        }
+    }
+
+    private synchronized void forget(CacheKey key, PendingDecode pending) {
+        inFlight.remove(key, pending);
+    }
+
+    /**
+     * Drops every cached size of an image, e.g. after the file changed on disk.
+     * Decodes already running for the image still complete for their callers,
+     * but their results may be of the old file and are not cached.
+     */
+    public synchronized void invalidate(Path path) {
+        Iterator<Map.Entry<CacheKey, PendingDecode>> decodes = inFlight.entrySet().iterator();
+        while (decodes.hasNext()) {
+            Map.Entry<CacheKey, PendingDecode> decode = decodes.next();
+            if (decode.getKey().path().equals(path)) {
+                decode.getValue().stale = true;
+                decodes.remove();
+            }
+        }
+
+        Iterator<Map.Entry<CacheKey, CachedImage>> entries = cache.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<CacheKey, CachedImage> entry = entries.next();
+            if (entry.getKey().path().equals(path)) {
+                cachedBytes -= entry.getValue().bytes();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Clears the whole cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Gets counters describing how often requested images were ready in time.
+     */
+    public CacheMetrics getMetrics() {
+        return new CacheMetrics(hits.get(), pendingHits.get(), misses.get(), prefetches.get());
+    }
+
+    /**
+     * Image request counters.
+     * @param hits Requests served from the cache
+     * @param pendingHits Requests that joined a decode already in progress, e.g. a prefetch that hadn't finished
+     * @param misses Requests that had to start a new decode
+     * @param prefetches Decodes started ahead of time by {@link #prefetch}
+     */
+    public record CacheMetrics(long hits, long pendingHits, long misses, long prefetches) {
+        public double hitRate() {
+            long total = hits + pendingHits + misses;
+            return total > 0 ? (double) hits / total * 100 : 0;
+        }
+    }
+
+    /**
+     * A decode that has been queued or started, with the number of callers
+     * still waiting for it. Stale once its file has been invalidated.
+     */
+    private static final class PendingDecode {
+        final CompletableFuture<Image> result = new CompletableFuture<>();
+        int waiters;
+        boolean stale;
+    }
+
+    private record CacheKey(Path path, int width, int height) {}
+
+    private record CachedImage(SoftReference<Image> image, long bytes) {}
+}
@@ -8,30 +8,48 @@ import javafx.application.Platform;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Manages loading and matching student images with roster entries.
  */
 public class ImageService {
     private static final Set<String> IMAGE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png");
+    private static final long DEBOUNCE_QUIET_MS = 300;
+    private static final long DEBOUNCE_MAX_MS = 2000;
     
     private static ImageService instance;
     
-    private final List<Student> students;
-    private final List<UnmatchedImage> unmatchedImages;
+    // Keyed by image path so watcher events can update single entries
+    private final Map<Path, Student> students;
+    private final Map<Path, UnmatchedImage> unmatchedImages;
     private final FuzzyMatcher fuzzyMatcher;
     private WatchService watchService;
+    private Path watchedDirectory;
     private Thread watchThread;
     private final AtomicBoolean watching;
-    private Consumer<Void> reloadCallback;
+    private volatile Consumer<Void> reloadCallback;
+    private final ExecutorService loaderExecutor;
+    private final AtomicInteger loadGeneration;
+    // The directory and stamp the published students were loaded from
+    private Path loadedDirectory;
+    private SectionLibrary.Stamp loadedStamp;
     
     private ImageService() {
-        this.students = new ArrayList<>();
-        this.unmatchedImages = new ArrayList<>();
+        this.students = new LinkedHashMap<>();
+        this.unmatchedImages = new LinkedHashMap<>();
         this.fuzzyMatcher = new FuzzyMatcher();
         this.watching = new AtomicBoolean(false);
+        this.loaderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.loadGeneration = new AtomicInteger();
     }
     
     public static synchronized ImageService getInstance() {
@@ -43,92 +61,269 @@ public class ImageService {
     
     /**
      * Loads images from the configured directory and matches with roster.
+     * Blocks until loading completes; prefer {@link #loadImagesAsync(Consumer)} on the FX thread.
      * @return true if at least one student was matched
      */
     public boolean loadImages() {
-        students.clear();
-        unmatchedImages.clear();
-        
+        return loadImagesAsync(null).join();
+    }
+    
+    /**
+     * Loads images from the configured directory in the background, matching
+     * image files against the roster in parallel.
+     * @param progressListener Receives progress updates from worker threads, may be null
+     * @return A future completing with true if at least one student was matched
+     */
+    public CompletableFuture<Boolean> loadImagesAsync(Consumer<LoadProgress> progressListener) {
+        int generation = loadGeneration.incrementAndGet();
+        Consumer<LoadProgress> listener = progressListener != null ? progressListener : p -> {};
+        return CompletableFuture.supplyAsync(() -> doLoadImages(generation, listener), loaderExecutor);
+    }
+    
+    private boolean doLoadImages(int generation, Consumer<LoadProgress> listener) {
         Path directory = ConfigService.getInstance().getImagesDirectory();
         if (directory == null || !Files.isDirectory(directory)) {
             System.err.println("Invalid images directory");
+            publish(generation, List.of(), List.of());
             return false;
         }
+        // Taken before reading anything, so changes made during the load make it stale
+        SectionLibrary.Stamp stamp = SectionLibrary.Stamp.of(directory);
         
         // Load roster first
         if (!RosterService.getInstance().loadRoster(directory)) {
             System.err.println("Failed to load roster");
+            publish(generation, List.of(), List.of());
+            return false;
+        }
+        if (generation != loadGeneration.get()) {
+            // Superseded, e.g. by a section switch; don't match against a roster that may be replaced
             return false;
         }
         
-        Map<String, String> squashedToOriginal = RosterService.getInstance().getSquashedToOriginal();
+        NameIndex index = RosterService.getInstance().getIndex();
         Map<String, String> manualMappings = MappingService.getInstance().getAllMappings();
+        MatchCacheService matchCache = MatchCacheService.getInstance();
+        MatchCacheService.Load cacheLoad = matchCache.beginLoad(RosterService.getInstance().getRosterFingerprint());
         
-        try {
-            Files.list(directory)
-                .filter(this::isImageFile)
-                .forEach(path -> processImageFile(path, squashedToOriginal, manualMappings));
+        List<Path> imageFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            imageFiles = files.filter(this::isImageFile).toList();
         } catch (IOException e) {
             System.err.println("Failed to list directory: " + e.getMessage());
+            publish(generation, List.of(), List.of());
+            return false;
+        }
+        
+        int total = imageFiles.size();
+        int reportEvery = Math.max(1, total / 100);
+        AtomicInteger processed = new AtomicInteger();
+        listener.accept(new LoadProgress(0, total));
+        
+        List<MatchResult> results = imageFiles.parallelStream()
+            .map(path -> {
+                MatchResult result = processImageFile(path, index, manualMappings, cacheLoad);
+                int done = processed.incrementAndGet();
+                if (done % reportEvery == 0 || done == total) {
+                    listener.accept(new LoadProgress(done, total));
+                }
+                return result;
+            })
+            .toList();
+        matchCache.endLoad(cacheLoad);
+        
+        List<Student> loadedStudents = new ArrayList<>();
+        List<UnmatchedImage> loadedUnmatched = new ArrayList<>();
+        for (MatchResult result : results) {
+            if (result.student() != null) {
+                loadedStudents.add(result.student());
+            } else {
+                loadedUnmatched.add(result.unmatched());
+            }
+        }
+        
+        if (!publish(generation, loadedStudents, loadedUnmatched)) {
+            // A newer load was started while this one ran; its results win
+            return !loadedStudents.isEmpty();
+        }
+        
+        System.out.println("Loaded " + loadedStudents.size() + " students, " + 
+                          loadedUnmatched.size() + " unmatched images");
+        synchronized (this) {
+            loadedDirectory = directory;
+            loadedStamp = stamp;
+        }
+        if (stamp != null) {
+            SectionLibrary.getInstance().put(SectionLibrary.Section.of(directory, stamp,
+                RosterService.getInstance().getState(), loadedStudents, loadedUnmatched));
+        }
+        
+        // Pre-scale photos in the background so later loads can skip the full-size files
+        ThumbnailService.getInstance().generateAsync(imageFiles, directory);
+        
+        return !loadedStudents.isEmpty();
+    }
+    
+    /**
+     * Replaces the loaded students and unmatched images, unless a newer load has started.
+     * @return true if the results were published
+     */
+    private synchronized boolean publish(int generation, List<Student> loadedStudents,
+                                         List<UnmatchedImage> loadedUnmatched) {
+        if (generation != loadGeneration.get()) {
             return false;
         }
+        students.clear();
+        loadedStudents.forEach(student -> students.put(student.imagePath(), student));
+        unmatchedImages.clear();
+        loadedUnmatched.forEach(image -> unmatchedImages.put(image.path(), image));
+        loadedDirectory = null;
+        loadedStamp = null;
+        return true;
+    }
+    
+    /**
+     * Switches to another images directory (class section). A section that is
+     * still resident in the {@link SectionLibrary} and unchanged on disk is
+     * restored without reading any files; otherwise it is loaded as usual.
+     * The section being left is kept in the library, including any unmatched
+     * images assigned since it was loaded. Switching to the current section reloads it.
+     * @param progressListener Receives progress updates if a load is needed, may be null
+     * @return A future completing with true if at least one student was matched
+     */
+    public CompletableFuture<Boolean> switchSectionAsync(Path directory, Consumer<LoadProgress> progressListener) {
+        boolean reopening;
+        synchronized (this) {
+            reopening = directory.equals(loadedDirectory);
+        }
+        rememberCurrentSection();
+        ConfigService.getInstance().setImagesDirectory(directory);
+        
+        // Choosing the current section again is a request for a fresh load
+        SectionLibrary.Section section = reopening ? null : SectionLibrary.getInstance().get(directory);
+        if (section == null) {
+            return loadImagesAsync(progressListener);
+        }
+        
+        int generation = loadGeneration.incrementAndGet();
+        long start = System.nanoTime();
+        RosterService.getInstance().restore(section.roster());
+        MatchCacheService.getInstance().selectRoster(section.roster().fingerprint());
+        if (!publish(generation, section.students(), section.unmatchedImages())) {
+            return CompletableFuture.completedFuture(!section.students().isEmpty());
+        }
+        synchronized (this) {
+            loadedDirectory = section.directory();
+            loadedStamp = section.stamp();
+        }
+        System.out.println("Restored section " + directory.getFileName() + " (" + section.students().size() +
+                          " students) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return CompletableFuture.completedFuture(!section.students().isEmpty());
+    }
+    
+    /**
+     * Saves the current students back to the library, so assignments made
+     * since the load survive a switch away and back.
+     */
+    private synchronized void rememberCurrentSection() {
+        if (loadedDirectory == null || loadedStamp == null) {
+            return;
+        }
+        SectionLibrary.getInstance().put(SectionLibrary.Section.of(loadedDirectory, loadedStamp,
+            RosterService.getInstance().getState(), List.copyOf(students.values()),
+            List.copyOf(unmatchedImages.values())));
+    }
+    
+    /**
+     * Matches every image in a directory against the loaded roster without
+     * changing the loaded students, e.g. for batch jobs that run without the UI.
+     * Matching runs in parallel on the given pool.
+     * @return The results in file name order
+     * @throws IOException If the directory can't be listed
+     */
+    public List<MatchResult> matchDirectory(Path directory, ForkJoinPool pool) throws IOException {
+        NameIndex index = RosterService.getInstance().getIndex();
+        Map<String, String> manualMappings = MappingService.getInstance().getAllMappings();
+        MatchCacheService matchCache = MatchCacheService.getInstance();
+        MatchCacheService.Load cacheLoad = matchCache.beginLoad(RosterService.getInstance().getRosterFingerprint());
         
-        System.out.println("Loaded " + students.size() + " students, " + 
-                          unmatchedImages.size() + " unmatched images");
+        List<Path> imageFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            imageFiles = files.filter(this::isImageFile).sorted().toList();
+        }
         
-        return !students.isEmpty();
+        try {
+            return pool.submit(() -> imageFiles.parallelStream()
+                .map(path -> processImageFile(path, index, manualMappings, cacheLoad))
+                .toList()).join();
+        } finally {
+            matchCache.endLoad(cacheLoad);
+        }
     }
     
     /**
-     * Processes a single image file.
+     * Processes a single image file. Safe to call from multiple threads.
+     * @param index The roster's name index; its source map is used for exact matches
+     * @param matchCache The cached fuzzy results to reuse and update
      */
-    private void processImageFile(Path path, Map<String, String> squashedToOriginal, 
-                                   Map<String, String> manualMappings) {
+    private MatchResult processImageFile(Path path, NameIndex index, 
+                                         Map<String, String> manualMappings, MatchCacheService.Load matchCache) {
         String filename = path.getFileName().toString();
         
         // Check for manual mapping first
         String manualRosterName = manualMappings.get(filename);
         if (manualRosterName != null) {
-            addStudent(path, manualRosterName);
-            return;
+            return MatchResult.of(createStudent(path, manualRosterName), MatchKind.MANUAL);
         }
         
         // Try exact match
         String squashedFilename = FuzzyMatcher.extractNameFromFilename(filename);
-        String exactMatch = squashedToOriginal.get(squashedFilename);
+        String exactMatch = index.source().get(squashedFilename);
         if (exactMatch != null) {
-            addStudent(path, exactMatch);
-            return;
+            return MatchResult.of(createStudent(path, exactMatch), MatchKind.EXACT);
+        }
+        
+        // Reuse the fuzzy result from an earlier run if the file and roster are unchanged
+        MatchCacheService.CachedMatch cached = matchCache.get(path);
+        if (cached != null) {
+            return cached.rosterName() != null
+                ? MatchResult.of(createStudent(path, cached.rosterName()), MatchKind.FUZZY)
+                : MatchResult.of(new UnmatchedImage(path, cached.suggestions()));
         }
         
         // Try fuzzy match with auto-accept for strong matches
-        String fuzzyMatch = fuzzyMatcher.findBestMatch(squashedFilename, squashedToOriginal);
+        String fuzzyMatch = fuzzyMatcher.findBestMatch(squashedFilename, index);
         if (fuzzyMatch != null) {
             // Auto-accept strong fuzzy matches
-            addStudent(path, fuzzyMatch);
-            return;
+            matchCache.put(path, MatchCacheService.CachedMatch.matched(fuzzyMatch));
+            return MatchResult.of(createStudent(path, fuzzyMatch), MatchKind.FUZZY);
         }
         
         // Add to unmatched with suggestions
-        List<ScoredMatch> suggestions = fuzzyMatcher.findMatches(squashedFilename, squashedToOriginal);
-        unmatchedImages.add(new UnmatchedImage(path, suggestions));
+        List<ScoredMatch> suggestions = fuzzyMatcher.findMatches(squashedFilename, index);
+        matchCache.put(path, MatchCacheService.CachedMatch.unmatched(suggestions));
+        return MatchResult.of(new UnmatchedImage(path, suggestions));
     }
     
     /**
-     * Adds a student from the given path and roster name.
+     * Creates a student from the given path and roster name.
      */
-    private void addStudent(Path imagePath, String rosterName) {
+    private Student createStudent(Path imagePath, String rosterName) {
         String[] names = RosterService.parseRosterName(rosterName);
-        students.add(new Student(names[0], names[1], imagePath));
+        return new Student(names[0], names[1], imagePath);
     }
     
     /**
      * Checks if a path is an image file.
      */
     private boolean isImageFile(Path path) {
-        if (!Files.isRegularFile(path)) {
-            return false;
-        }
+        return Files.isRegularFile(path) && hasImageExtension(path);
+    }
+    
+    /**
+     * Checks if a path has an image extension, without touching the file system.
+     */
+    private boolean hasImageExtension(Path path) {
         String name = path.getFileName().toString().toLowerCase();
         return IMAGE_EXTENSIONS.stream().anyMatch(name::endsWith);
     }
@@ -136,36 +331,36 @@ public class ImageService {
     /**
      * Gets the list of matched students.
      */
-    public List<Student> getStudents() {
-        return Collections.unmodifiableList(students);
+    public synchronized List<Student> getStudents() {
+        return List.copyOf(students.values());
     }
     
     /**
      * Gets the list of unmatched images.
      */
-    public List<UnmatchedImage> getUnmatchedImages() {
-        return Collections.unmodifiableList(unmatchedImages);
+    public synchronized List<UnmatchedImage> getUnmatchedImages() {
+        return List.copyOf(unmatchedImages.values());
     }
     
     /**
      * Assigns an unmatched image to a roster name.
      */
-    public void assignUnmatched(UnmatchedImage image, String rosterName) {
+    public synchronized void assignUnmatched(UnmatchedImage image, String rosterName) {
         // Save mapping
         MappingService.getInstance().setMapping(image.filename(), rosterName);
         
         // Add to students
-        addStudent(image.path(), rosterName);
+        students.put(image.path(), createStudent(image.path(), rosterName));
         
         // Remove from unmatched
-        unmatchedImages.remove(image);
+        unmatchedImages.remove(image.path());
     }
     
     /**
      * Assigns all unmatched images using their best suggestions.
      */
-    public void assignAllSuggestions() {
-        List<UnmatchedImage> toAssign = new ArrayList<>(unmatchedImages);
+    public synchronized void assignAllSuggestions() {
+        List<UnmatchedImage> toAssign = new ArrayList<>(unmatchedImages.values());
         for (UnmatchedImage image : toAssign) {
             ScoredMatch best = image.bestSuggestion();
             if (best != null) {
@@ -175,15 +370,20 @@ public class ImageService {
     }
     
     /**
-     * Starts watching the directory for changes.
+     * Starts watching the directory for changes. Added, removed and modified images
+     * are matched incrementally; the callback runs on the FX thread after each batch.
      */
-    public void startWatching(Consumer<Void> callback) {
+    public synchronized void startWatching(Consumer<Void> callback) {
+        this.reloadCallback = callback;
+        Path directory = ConfigService.getInstance().getImagesDirectory();
         if (watching.get()) {
-            return;
+            if (Objects.equals(directory, watchedDirectory)) {
+                return;
+            }
+            // Images directory changed since the watcher started
+            stopWatching();
         }
         
-        this.reloadCallback = callback;
-        Path directory = ConfigService.getInstance().getImagesDirectory();
         if (directory == null) {
             return;
         }
@@ -195,10 +395,12 @@ public class ImageService {
                 StandardWatchEventKinds.ENTRY_DELETE,
                 StandardWatchEventKinds.ENTRY_MODIFY);
             
+            watchedDirectory = directory;
             watching.set(true);
             
             // Use virtual thread for watching
-            watchThread = Thread.startVirtualThread(this::watchLoop);
+            WatchService service = watchService;
+            watchThread = Thread.startVirtualThread(() -> watchLoop(service, directory));
             
         } catch (IOException e) {
             System.err.println("Failed to start file watcher: " + e.getMessage());
@@ -206,26 +408,29 @@ public class ImageService {
     }
     
     /**
-     * The file watching loop.
+     * The file watching loop. Bursts of events are debounced: changes are collected
+     * until the directory has been quiet for a moment (or a maximum delay has passed)
+     * and then applied as one batch.
      */
-    private void watchLoop() {
+    private void watchLoop(WatchService service, Path directory) {
         while (watching.get()) {
             try {
-                WatchKey key = watchService.take();
+                WatchKey key = service.take();
                 
-                boolean hasChanges = false;
-                for (WatchEvent<?> event : key.pollEvents()) {
-                    Path changed = (Path) event.context();
-                    if (isImageFile(changed) || changed.toString().toLowerCase().contains("roster")) {
-                        hasChanges = true;
+                PendingChanges pending = new PendingChanges();
+                long deadline = System.currentTimeMillis() + DEBOUNCE_MAX_MS;
+                while (key != null) {
+                    collectEvents(key, directory, pending);
+                    key.reset();
+                    
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
                     }
+                    key = service.poll(Math.min(DEBOUNCE_QUIET_MS, remaining), TimeUnit.MILLISECONDS);
                 }
                 
-                if (hasChanges && reloadCallback != null) {
-                    Platform.runLater(() -> reloadCallback.accept(null));
-                }
-                
-                key.reset();
+                applyChanges(directory, pending);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
@@ -235,11 +440,103 @@ public class ImageService {
         }
     }
     
+    /**
+     * Records the image and roster changes reported by a watch key.
+     */
+    private void collectEvents(WatchKey key, Path directory, PendingChanges pending) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, so the only safe option is a full rescan
+                pending.fullRescan = true;
+                continue;
+            }
+            
+            Path changed = directory.resolve((Path) event.context());
+            if (RosterService.isRosterFile(changed)) {
+                pending.rosterChanged = true;
+            } else if (hasImageExtension(changed)) {
+                pending.images.add(changed);
+            }
+        }
+    }
+    
+    /**
+     * Applies a batch of directory changes. A roster change needs every image
+     * re-matched, so it falls back to a full load; otherwise only the affected
+     * images are re-processed. Batches from a directory that is no longer the
+     * loaded section, or that a newer load has already picked up, are dropped.
+     * Package-private so tests can apply a batch without a watcher.
+     */
+    void applyChanges(Path directory, PendingChanges pending) {
+        if (!directory.equals(ConfigService.getInstance().getImagesDirectory())) {
+            // Switched to another section while the batch was collected
+            return;
+        }
+        if (pending.rosterChanged || pending.fullRescan) {
+            loadImagesAsync(null).thenRun(this::notifyReloaded);
+            return;
+        }
+        if (pending.images.isEmpty()) {
+            return;
+        }
+        
+        int generation = loadGeneration.get();
+        NameIndex index = RosterService.getInstance().getIndex();
+        Map<String, String> manualMappings = MappingService.getInstance().getAllMappings();
+        MatchCacheService.Load matchCache = MatchCacheService.getInstance().forUpdates();
+        
+        // Match and stat files outside the lock, then apply all updates at once
+        Map<Path, MatchResult> updates = new HashMap<>();
+        for (Path path : pending.images) {
+            // Drop decoded copies of the old file contents
+            ImageCacheService.getInstance().invalidate(path);
+            updates.put(path, isImageFile(path) ? processImageFile(path, index, manualMappings, matchCache) : null);
+        }
+        SectionLibrary.Stamp stamp = SectionLibrary.Stamp.of(directory);
+        
+        synchronized (this) {
+            if (generation != loadGeneration.get() || !directory.equals(loadedDirectory)) {
+                // A load or section switch since the batch started has replaced the students
+                return;
+            }
+            for (Map.Entry<Path, MatchResult> update : updates.entrySet()) {
+                Path path = update.getKey();
+                MatchResult result = update.getValue();
+                students.remove(path);
+                unmatchedImages.remove(path);
+                if (result == null) {
+                    continue;
+                }
+                if (result.student() != null) {
+                    students.put(path, result.student());
+                } else {
+                    unmatchedImages.put(path, result.unmatched());
+                }
+            }
+            // The students now reflect the directory as it is, so the section stays reusable
+            loadedStamp = stamp;
+        }
+        
+        MatchCacheService.getInstance().save();
+        ThumbnailService.getInstance().generateAsync(
+            updates.keySet().stream().filter(path -> updates.get(path) != null).toList(), null);
+        System.out.println("Updated " + updates.size() + " changed images");
+        notifyReloaded();
+    }
+    
+    private void notifyReloaded() {
+        Consumer<Void> callback = reloadCallback;
+        if (callback != null) {
+            Platform.runLater(() -> callback.accept(null));
+        }
+    }
+    
     /**
      * Stops watching the directory.
      */
-    public void stopWatching() {
+    public synchronized void stopWatching() {
         watching.set(false);
+        watchedDirectory = null;
         if (watchService != null) {
             try {
                 watchService.close();
@@ -258,4 +555,49 @@ public class ImageService {
     public void reload() {
         loadImages();
     }
+    
+    /**
+     * Progress of an image load: number of image files matched so far out of the total.
+     */
+    public record LoadProgress(int processed, int total) {
+        public double fraction() {
+            return total > 0 ? (double) processed / total : 1.0;
+        }
+    }
+    
+    /**
+     * Directory changes collected during one debounce window.
+     */
+    static final class PendingChanges {
+        final Set<Path> images = new LinkedHashSet<>();
+        boolean rosterChanged;
+        boolean fullRescan;
+    }
+    
+    /**
+     * How an image was matched to its roster entry.
+     */
+    public enum MatchKind {
+        /** Assigned by hand and saved in the mappings. */
+        MANUAL,
+        /** The file name is the roster name. */
+        EXACT,
+        /** Close enough to one roster name to be accepted automatically. */
+        FUZZY,
+        /** No roster name was close enough; only suggestions are available. */
+        UNMATCHED
+    }
+    
+    /**
+     * Outcome of matching one image file: either a student or an unmatched image.
+     */
+    public record MatchResult(Student student, UnmatchedImage unmatched, MatchKind kind) {
+        static MatchResult of(Student student, MatchKind kind) {
+            return new MatchResult(student, null, kind);
+        }
+        
+        static MatchResult of(UnmatchedImage unmatched) {
+            return new MatchResult(null, unmatched, MatchKind.UNMATCHED);
+        }
+    }
 }
@@ -82,6 +82,15 @@ public class MappingService {
         save();
     }
     
+    /**
+     * Sets several mappings at once, saving the file only once.
+     * @param newMappings Roster names in "Last, First" format, keyed by image filename
+     */
+    public void setMappings(Map<String, String> newMappings) {
+        mappings.putAll(newMappings);
+        save();
+    }
+    
     /**
      * Removes a mapping.
      * @param filename The image filename
@@ -0,0 +1,234 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches fuzzy match results between launches, so unchanged images don't need
+ * to be fuzzy matched again. Entries are keyed by filename, size and modification
+ * time, and grouped by the content hash of the roster they were matched against,
+ * so each class section keeps its own results. Results for the least recently
+ * loaded rosters are dropped beyond a small limit.
+ * <p>
+ * Each full load gets its own {@link Load}, which tracks the images it saw,
+ * so loads that overlap (e.g. a reload and a section switch) don't prune each
+ * other's entries.
+ */
+public class MatchCacheService {
+    private static final String CACHE_FILE = "match-cache.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Bump when matching rules change so results from older versions are discarded.
+     * Version 3: file name keys drop whitespace and fold accents, so files that
+     * used to be fuzzy matches can now match exactly.
+     */
+    private static final int CACHE_VERSION = 3;
+    private static final int MAX_ROSTERS = 8;
+
+    private static MatchCacheService instance;
+
+    private final Path cachePath;
+    private final Gson gson;
+    // Entries per roster fingerprint, least recently loaded first
+    private final LinkedHashMap<String, Map<String, CachedMatch>> rosters;
+    private volatile Map<String, CachedMatch> entries;
+    private volatile String rosterFingerprint;
+    private volatile boolean dirty;
+
+    private MatchCacheService() {
+        this.cachePath = ConfigService.getInstance().getDataDirectory().resolve(CACHE_FILE);
+        this.gson = new GsonBuilder().create();
+        this.rosters = new LinkedHashMap<>();
+        this.entries = new ConcurrentHashMap<>();
+        load();
+    }
+
+    public static synchronized MatchCacheService getInstance() {
+        if (instance == null) {
+            instance = new MatchCacheService();
+        }
+        return instance;
+    }
+
+    private void load() {
+        if (!Files.exists(cachePath)) {
+            return;
+        }
+        try {
+            String json = Files.readString(cachePath);
+            CacheFile file = gson.fromJson(json, CacheFile.class);
+            if (file != null && file.version() == CACHE_VERSION && file.rosters() != null) {
+                file.rosters().forEach((fingerprint, matches) ->
+                    rosters.put(fingerprint, new ConcurrentHashMap<>(matches)));
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to load match cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the cache if it changed since it was last saved. The file is
+     * written to a temp file and moved into place, so a crash mid-write never
+     * leaves a truncated cache behind.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        Path tempPath = cachePath.resolveSibling(CACHE_FILE + TEMP_SUFFIX);
+        try {
+            Map<String, Map<String, CachedMatch>> copy = new LinkedHashMap<>();
+            rosters.forEach((fingerprint, matches) -> copy.put(fingerprint, Map.copyOf(matches)));
+            String json = gson.toJson(new CacheFile(CACHE_VERSION, copy));
+            Files.writeString(tempPath, json);
+            try {
+                Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Failed to save match cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prepares the cache for a full load against the given roster.
+     * @param fingerprint The content hash of the current roster file
+     * @return The load, to look up and store results through and pass to {@link #endLoad}
+     */
+    public synchronized Load beginLoad(String fingerprint) {
+        selectRoster(fingerprint);
+        return new Load(fingerprint, entries);
+    }
+    
+    /**
+     * Gets a view of the selected roster's results for matching single images
+     * outside a full load, e.g. files changed while watching. It is never
+     * ended, so it doesn't prune anything.
+     */
+    public synchronized Load forUpdates() {
+        return new Load(rosterFingerprint, entries);
+    }
+    
+    /**
+     * Makes lookups and updates use the results for the given roster, e.g. after
+     * switching to a class section that was still loaded.
+     * @param fingerprint The content hash of the current roster file
+     */
+    public synchronized void selectRoster(String fingerprint) {
+        rosterFingerprint = fingerprint;
+        if (fingerprint == null) {
+            entries = new ConcurrentHashMap<>();
+            return;
+        }
+        
+        // Re-insert to mark the roster as most recently used
+        Map<String, CachedMatch> matches = rosters.remove(fingerprint);
+        entries = matches != null ? matches : new ConcurrentHashMap<>();
+        rosters.put(fingerprint, entries);
+        if (matches == null) {
+            dirty = true;
+        }
+        while (rosters.size() > MAX_ROSTERS) {
+            rosters.remove(rosters.keySet().iterator().next());
+            dirty = true;
+        }
+    }
+
+    /**
+     * Finishes a full load: drops the entries of its roster for images the
+     * load didn't see, and saves the cache.
+     */
+    public synchronized void endLoad(Load load) {
+        if (load.fingerprint != null && load.entries.keySet().retainAll(load.usedKeys)) {
+            dirty = true;
+        }
+        save();
+    }
+
+    /**
+     * Builds the cache key from the filename, size and modification time.
+     */
+    private String keyFor(Path imagePath) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(imagePath, BasicFileAttributes.class);
+            return imagePath.getFileName() + "|" + attributes.size() + "|" +
+                   attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A cached fuzzy match result: either the auto-accepted roster name, or the
+     * suggestions for an image that could not be matched.
+     */
+    public record CachedMatch(String rosterName, List<ScoredMatch> suggestions) {
+        public static CachedMatch matched(String rosterName) {
+            return new CachedMatch(rosterName, null);
+        }
+
+        public static CachedMatch unmatched(List<ScoredMatch> suggestions) {
+            return new CachedMatch(null, suggestions);
+        }
+    }
+
+    /**
+     * Cached results for one roster, as seen by one load. Safe to use from
+     * multiple threads.
+     */
+    public final class Load {
+        private final String fingerprint;
+        private final Map<String, CachedMatch> entries;
+        private final Set<String> usedKeys;
+
+        private Load(String fingerprint, Map<String, CachedMatch> entries) {
+            this.fingerprint = fingerprint;
+            this.entries = entries;
+            this.usedKeys = ConcurrentHashMap.newKeySet();
+        }
+
+        /**
+         * Looks up the cached match result for an image file.
+         * @return The cached result, or null if the image has not been matched before
+         */
+        public CachedMatch get(Path imagePath) {
+            String key = keyFor(imagePath);
+            if (key == null) {
+                return null;
+            }
+            usedKeys.add(key);
+            return entries.get(key);
+        }
+
+        /**
+         * Stores the match result for an image file.
+         */
+        public void put(Path imagePath, CachedMatch match) {
+            String key = keyFor(imagePath);
+            if (key == null || fingerprint == null) {
+                return;
+            }
+            usedKeys.add(key);
+            entries.put(key, match);
+            dirty = true;
+        }
+    }
+
+    private record CacheFile(int version, Map<String, Map<String, CachedMatch>> rosters) {}
+}
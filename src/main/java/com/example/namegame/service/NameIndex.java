@@ -0,0 +1,287 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A BK-tree over squashed roster names for nearest-name lookups.
+ * <p>
+ * Each node stores the edit distance to its parent, so by the triangle inequality
+ * only children whose edge distance lies within {@code radius} of the query's
+ * distance to the node can contain a match. Built once per roster load and
+ * read-only afterwards, so it is safe to query from multiple threads.
+ */
+public final class NameIndex {
+    private static final int NONE = -1;
+
+    private static final Comparator<ScoredMatch> WORST_FIRST =
+        Comparator.comparingInt(ScoredMatch::distance)
+            .thenComparing(ScoredMatch::rosterName)
+            .reversed();
+
+    private final Map<String, String> source;
+    private final char[][] keys;
+    private final String[] rosterNames;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+    private final int[] maxChildDistance;
+    private int size;
+
+    private NameIndex(Map<String, String> source) {
+        int capacity = source.size();
+        this.source = source;
+        this.keys = new char[capacity][];
+        this.rosterNames = new String[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.edgeDistance = new int[capacity];
+        this.maxChildDistance = new int[capacity];
+    }
+
+    private NameIndex(Map<String, String> source, Nodes nodes) {
+        this.source = source;
+        this.keys = nodes.keys();
+        this.rosterNames = nodes.rosterNames();
+        this.firstChild = nodes.firstChild();
+        this.nextSibling = nodes.nextSibling();
+        this.edgeDistance = nodes.edgeDistance();
+        this.maxChildDistance = nodes.maxChildDistance();
+        this.size = keys.length;
+    }
+
+    /**
+     * Builds an index over the given squashed-to-original roster map.
+     */
+    public static NameIndex build(Map<String, String> squashedToOriginal) {
+        NameIndex index = new NameIndex(squashedToOriginal);
+        int longest = squashedToOriginal.keySet().stream().mapToInt(String::length).max().orElse(0);
+        int[] previous = new int[longest + 1];
+        int[] current = new int[longest + 1];
+        for (Map.Entry<String, String> entry : squashedToOriginal.entrySet()) {
+            index.insert(entry.getKey().toCharArray(), entry.getValue(), previous, current);
+        }
+        return index;
+    }
+
+    /**
+     * Recreates an index from nodes saved by {@link #nodes()}, without
+     * computing any edit distances. The source map is rebuilt from the nodes.
+     */
+    static NameIndex restore(Nodes nodes) {
+        Map<String, String> source = new HashMap<>();
+        for (int i = 0; i < nodes.keys().length; i++) {
+            source.put(new String(nodes.keys()[i]), nodes.rosterNames()[i]);
+        }
+        return new NameIndex(Collections.unmodifiableMap(source), nodes);
+    }
+
+    /**
+     * Gets the tree's node arrays, for saving the index. The arrays are not copied.
+     */
+    Nodes nodes() {
+        return new Nodes(keys, rosterNames, firstChild, nextSibling, edgeDistance, maxChildDistance);
+    }
+
+    /**
+     * Gets the map this index was built from.
+     */
+    public Map<String, String> source() {
+        return source;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(char[] key, String rosterName, int[] previousRow, int[] currentRow) {
+        int node = size++;
+        keys[node] = key;
+        rosterNames[node] = rosterName;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        maxChildDistance[node] = 0;
+        if (node == 0) {
+            return;
+        }
+
+        int current = 0;
+        while (true) {
+            int distance = FuzzyMatcher.boundedDistance(key, keys[current], Integer.MAX_VALUE, previousRow, currentRow);
+            int child = childWithDistance(current, distance);
+            if (child == NONE) {
+                edgeDistance[node] = distance;
+                nextSibling[node] = firstChild[current];
+                firstChild[current] = node;
+                maxChildDistance[current] = Math.max(maxChildDistance[current], distance);
+                return;
+            }
+            current = child;
+        }
+    }
+
+    private int childWithDistance(int node, int distance) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (edgeDistance[child] == distance) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Finds the roster names closest to a squashed name.
+     * @param target The squashed, lower-case name to look up
+     * @param limit Maximum number of matches to return
+     * @param maxDistance Maximum edit distance of a match
+     * @return Up to {@code limit} matches, sorted by distance (best first)
+     */
+    public List<ScoredMatch> nearest(String target, int limit, int maxDistance) {
+        if (size == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // Row buffers for the distance kernel, reused for every comparison in this lookup
+        char[] query = target.toCharArray();
+        int[] previous = new int[query.length + 1];
+        int[] current = new int[query.length + 1];
+
+        // Max-heap of the best matches so far; its worst entry bounds the search radius
+        PriorityQueue<ScoredMatch> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        int radius = maxDistance;
+
+        // Best-first traversal: nodes are visited in order of the lower bound on
+        // their distance, so the radius shrinks as early as possible
+        NodeQueue queue = new NodeQueue(size);
+        queue.push(0, 0);
+        while (!queue.isEmpty()) {
+            long head = queue.pop();
+            int lowerBound = NodeQueue.bound(head);
+            if (lowerBound > radius) {
+                break;
+            }
+            int node = NodeQueue.node(head);
+
+            // Children can only match if |edge - d| <= radius, so d beyond
+            // radius + largest edge rules out the node and its whole subtree
+            int cutoff = saturatedAdd(radius, maxChildDistance[node]);
+            int distance = FuzzyMatcher.boundedDistance(query, keys[node], cutoff, previous, current);
+            if (distance > cutoff) {
+                continue;
+            }
+
+            if (distance <= radius && !losesTie(best, limit, distance, rosterNames[node])) {
+                best.add(new ScoredMatch(rosterNames[node], distance));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (best.size() == limit) {
+                    radius = best.peek().distance();
+                }
+            }
+
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                int childBound = Math.abs(edgeDistance[child] - distance);
+                if (childBound <= radius) {
+                    queue.push(Math.max(childBound, lowerBound), child);
+                }
+            }
+        }
+
+        List<ScoredMatch> result = new ArrayList<>(best);
+        result.sort(WORST_FIRST.reversed());
+        return result;
+    }
+
+    /**
+     * Checks if a candidate at the current radius would be evicted straight away
+     * by the tie-break, so it can be skipped without allocating a match.
+     */
+    private static boolean losesTie(PriorityQueue<ScoredMatch> best, int limit, int distance, String rosterName) {
+        if (best.size() < limit) {
+            return false;
+        }
+        ScoredMatch worst = best.peek();
+        return distance == worst.distance() && rosterName.compareTo(worst.rosterName()) > 0;
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        int sum = a + b;
+        return sum < 0 ? Integer.MAX_VALUE : sum;
+    }
+
+    /**
+     * The tree in array form: node i has key {@code keys[i]}, and its children
+     * are linked through {@code firstChild} and {@code nextSibling}.
+     */
+    record Nodes(char[][] keys, String[] rosterNames, int[] firstChild, int[] nextSibling,
+                 int[] edgeDistance, int[] maxChildDistance) {}
+
+    /**
+     * A binary min-heap of (lower bound, node) pairs packed into longs, so the
+     * traversal doesn't allocate an object per visited node.
+     */
+    private static final class NodeQueue {
+        private final long[] heap;
+        private int count;
+
+        NodeQueue(int capacity) {
+            this.heap = new long[capacity];
+        }
+
+        static int bound(long entry) {
+            return (int) (entry >>> 32);
+        }
+
+        static int node(long entry) {
+            return (int) entry;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        void push(int bound, int node) {
+            long entry = ((long) bound << 32) | node;
+            int i = count++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = entry;
+        }
+
+        long pop() {
+            long result = heap[0];
+            long last = heap[--count];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return result;
+        }
+    }
+}
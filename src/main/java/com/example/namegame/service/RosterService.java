@@ -4,20 +4,32 @@ import org.apache.poi.ss.usermodel.*;
 
 import java.io.*;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
- * Reads student roster from Excel files (.xls or .xlsx).
+ * Reads student roster from Excel files (.xls or .xlsx) or CSV/TSV exports.
  */
 public class RosterService {
+    private static final String SNAPSHOT_PREFIX = "roster-cache-";
+    
     private static RosterService instance;
     
-    private final Map<String, String> squashedToOriginal;
-    private final List<String> rosterNames;
+    private static final NameIndex EMPTY_INDEX = NameIndex.build(Map.of());
+    
+    // Replaced as a whole on each load so readers on other threads never see a partial roster.
+    // The index's source map is the squashed-to-original roster map.
+    private volatile NameIndex index;
+    private volatile List<String> rosterNames;
+    private volatile String rosterFingerprint;
+    // Similar-name lookups for hard distractors, built in the background per roster
+    private volatile ConfusableIndex confusables;
+    private Map<String, String> confusablesSource;
     
     private RosterService() {
-        this.squashedToOriginal = new HashMap<>();
-        this.rosterNames = new ArrayList<>();
+        this.index = EMPTY_INDEX;
+        this.rosterNames = List.of();
     }
     
     public static synchronized RosterService getInstance() {
@@ -32,17 +44,91 @@ public class RosterService {
      * @param directory The directory containing the roster file
      * @return true if loaded successfully, false otherwise
      */
-    public boolean loadRoster(Path directory) {
-        squashedToOriginal.clear();
-        rosterNames.clear();
+    public synchronized boolean loadRoster(Path directory) {
+        clear();
         
         // Find roster file
         Path rosterFile = findRosterFile(directory);
         if (rosterFile == null) {
-            System.err.println("No roster file (roster.xls or roster.xlsx) found in: " + directory);
+            System.err.println("No roster file (roster.xlsx, roster.xls, roster.csv or roster.tsv) found in: " + directory);
             return false;
         }
         
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        
+        // An unchanged roster is restored from the snapshot without touching POI
+        Path snapshotFile = snapshotFileFor(directory);
+        RosterSnapshot snapshot = RosterSnapshot.read(snapshotFile, rosterFile, () -> computeFingerprint(rosterFile));
+        if (snapshot != null) {
+            this.index = snapshot.index();
+            this.rosterNames = Collections.unmodifiableList(snapshot.rosterNames());
+            this.rosterFingerprint = snapshot.fingerprint();
+            prepareConfusablesIfEnabled();
+            
+            System.out.println("Loaded " + rosterNames.size() + " names from roster snapshot in " +
+                              (System.nanoTime() - start) / 1_000_000 + " ms");
+            return !rosterNames.isEmpty();
+        }
+        
+        String fingerprint = computeFingerprint(rosterFile);
+        List<String> rosterNames;
+        String fileName = rosterFile.getFileName().toString().toLowerCase();
+        String reader;
+        try {
+            // .xlsx can be streamed; the older binary .xls format needs the full workbook model
+            if (fileName.endsWith(".csv")) {
+                reader = "csv";
+                rosterNames = DelimitedRosterReader.readNames(rosterFile, ',');
+            } else if (fileName.endsWith(".tsv")) {
+                reader = "tsv";
+                rosterNames = DelimitedRosterReader.readNames(rosterFile, '\t');
+            } else if (fileName.endsWith(".xlsx")) {
+                reader = "streamed";
+                rosterNames = XlsxRosterReader.readNames(rosterFile);
+            } else {
+                reader = "workbook";
+                rosterNames = readWorkbookNames(rosterFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read roster: " + e.getMessage());
+            return false;
+        }
+        if (rosterNames == null) {
+            System.err.println("'Name' column not found in roster");
+            return false;
+        }
+        
+        Map<String, String> squashedToOriginal = new HashMap<>();
+        for (String name : rosterNames) {
+            String squashed = FuzzyMatcher.squashRosterName(name);
+            squashedToOriginal.put(squashed, name);
+        }
+        
+        // Build the fuzzy matching index once, up front, and save it with the names
+        NameIndex index = NameIndex.build(Collections.unmodifiableMap(squashedToOriginal));
+        this.index = index;
+        this.rosterNames = Collections.unmodifiableList(rosterNames);
+        this.rosterFingerprint = fingerprint;
+        
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long heapDeltaKb = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / 1024;
+        
+        new RosterSnapshot(fingerprint, this.rosterNames, index).write(snapshotFile, rosterFile);
+        prepareConfusablesIfEnabled();
+        
+        System.out.println("Loaded " + rosterNames.size() + " names from roster in " + elapsedMs + " ms (" +
+                          reader + ", heap " + (heapDeltaKb >= 0 ? "+" : "") +
+                          heapDeltaKb + " KB)");
+        return !rosterNames.isEmpty();
+    }
+    
+    /**
+     * Reads the "Name" column of the first sheet through POI's workbook model.
+     * @return The names, or null if the sheet has no "Name" column
+     */
+    private List<String> readWorkbookNames(Path rosterFile) throws IOException {
         try (InputStream is = new FileInputStream(rosterFile.toFile());
              Workbook workbook = WorkbookFactory.create(is)) {
             
@@ -53,11 +139,11 @@ public class RosterService {
             int nameColumnIndex = findNameColumn(headerRow);
             
             if (nameColumnIndex < 0) {
-                System.err.println("'Name' column not found in roster");
-                return false;
+                return null;
             }
             
             // Read names
+            List<String> rosterNames = new ArrayList<>();
             DataFormatter formatter = new DataFormatter();
             for (int i = 1; i <= sheet.getLastRowNum(); i++) {
                 Row row = sheet.getRow(i);
@@ -67,27 +153,43 @@ public class RosterService {
                         String name = formatter.formatCellValue(cell).trim();
                         if (!name.isEmpty()) {
                             rosterNames.add(name);
-                            String squashed = FuzzyMatcher.squashRosterName(name);
-                            squashedToOriginal.put(squashed, name);
                         }
                     }
                 }
             }
-            
-            System.out.println("Loaded " + rosterNames.size() + " names from roster");
-            return !rosterNames.isEmpty();
-            
-        } catch (IOException e) {
-            System.err.println("Failed to read roster: " + e.getMessage());
-            return false;
+            return rosterNames;
+        }
+    }
+    
+    /**
+     * Gets the snapshot file for a directory's roster. Each directory (class
+     * section) has its own, so switching sections doesn't overwrite them.
+     */
+    private Path snapshotFileFor(Path directory) {
+        String key = directory.toAbsolutePath().normalize().toString();
+        String name = SNAPSHOT_PREFIX + Integer.toHexString(key.hashCode()) + ".bin";
+        return ConfigService.getInstance().getDataDirectory().resolve(name);
+    }
+    
+    /**
+     * Computes a content hash of the roster file, used to tell when cached
+     * results derived from the roster are stale.
+     */
+    private String computeFingerprint(Path rosterFile) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(rosterFile)));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
         }
     }
     
     /**
      * Finds the roster file in the directory.
      */
-    private Path findRosterFile(Path directory) {
-        String[] possibleNames = {"roster.xlsx", "roster.xls", "Roster.xlsx", "Roster.xls"};
+    static Path findRosterFile(Path directory) {
+        String[] possibleNames = {"roster.xlsx", "roster.xls", "roster.csv", "roster.tsv",
+                                  "Roster.xlsx", "Roster.xls", "Roster.csv", "Roster.tsv"};
         
         for (String name : possibleNames) {
             Path file = directory.resolve(name);
@@ -99,11 +201,7 @@ public class RosterService {
         // Try to find any xls/xlsx file with "roster" in the name
         try {
             return Files.list(directory)
-                .filter(p -> {
-                    String fileName = p.getFileName().toString().toLowerCase();
-                    return fileName.contains("roster") && 
-                           (fileName.endsWith(".xls") || fileName.endsWith(".xlsx"));
-                })
+                .filter(RosterService::isRosterFile)
                 .findFirst()
                 .orElse(null);
         } catch (IOException e) {
@@ -111,6 +209,23 @@ public class RosterService {
         }
     }
     
+    /**
+     * Checks if a file name looks like a roster spreadsheet or CSV/TSV export.
+     */
+    public static boolean isRosterFile(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase();
+        return fileName.contains("roster") && 
+               (fileName.endsWith(".xls") || fileName.endsWith(".xlsx") ||
+                fileName.endsWith(".csv") || fileName.endsWith(".tsv"));
+    }
+    
+    /**
+     * Checks if a directory contains a roster file that {@link #loadRoster} would find.
+     */
+    public static boolean hasRosterFile(Path directory) {
+        return findRosterFile(directory) != null;
+    }
+    
     /**
      * Finds the index of the "Name" column.
      */
@@ -131,21 +246,94 @@ public class RosterService {
      * Gets the map of squashed names to original roster names.
      */
     public Map<String, String> getSquashedToOriginal() {
-        return Collections.unmodifiableMap(squashedToOriginal);
+        return index.source();
+    }
+    
+    /**
+     * Gets the fuzzy matching index for the loaded roster; its source is
+     * {@link #getSquashedToOriginal()}.
+     */
+    public NameIndex getIndex() {
+        return index;
     }
     
     /**
      * Gets all roster names in original format.
      */
     public List<String> getRosterNames() {
-        return Collections.unmodifiableList(rosterNames);
+        return rosterNames;
+    }
+    
+    /**
+     * Gets the content hash of the loaded roster file, or null if none is loaded.
+     */
+    public String getRosterFingerprint() {
+        return rosterFingerprint;
+    }
+    
+    /**
+     * Gets the loaded roster as one immutable value, e.g. to keep it while another section is loaded.
+     */
+    public synchronized RosterState getState() {
+        return new RosterState(rosterNames, rosterFingerprint, index);
+    }
+    
+    /**
+     * Makes a previously loaded roster current again without reading the roster file.
+     */
+    public synchronized void restore(RosterState state) {
+        this.index = state.index();
+        this.rosterNames = state.rosterNames();
+        this.rosterFingerprint = state.fingerprint();
+        prepareConfusablesIfEnabled();
+    }
+    
+    /**
+     * Gets the similar-name index for the loaded roster, or null if it is still
+     * being built. Starts building it if that hasn't happened yet.
+     */
+    public ConfusableIndex getConfusables() {
+        ConfusableIndex index = confusables;
+        if (index != null && index.source() == getSquashedToOriginal()) {
+            return index;
+        }
+        prepareConfusables();
+        return null;
+    }
+    
+    /**
+     * Builds the similar-name index for the loaded roster in the background,
+     * unless it is already built or being built.
+     */
+    public synchronized void prepareConfusables() {
+        Map<String, String> roster = getSquashedToOriginal();
+        if (roster.isEmpty() || roster == confusablesSource) {
+            return;
+        }
+        confusablesSource = roster;
+        Thread.ofVirtual().name("confusable-index").start(() -> {
+            long start = System.nanoTime();
+            ConfusableIndex index = ConfusableIndex.build(roster);
+            // Dropped if another roster was loaded meanwhile
+            if (roster == getSquashedToOriginal()) {
+                confusables = index;
+                System.out.println("Built similar-name index for " + index.size() + " names in " +
+                                  (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        });
+    }
+    
+    private void prepareConfusablesIfEnabled() {
+        if (ConfigService.getInstance().isHardDistractors()) {
+            prepareConfusables();
+        }
     }
     
     /**
      * Finds a roster entry by squashed name (exact match).
      */
     public String findBySquashedName(String squashed) {
-        return squashedToOriginal.get(squashed.toLowerCase());
+        return getSquashedToOriginal().get(squashed.toLowerCase());
     }
     
     /**
@@ -167,11 +355,17 @@ public class RosterService {
         return !rosterNames.isEmpty();
     }
     
+    /**
+     * A loaded roster: its names in sheet order, content hash and fuzzy matching index.
+     */
+    public record RosterState(List<String> rosterNames, String fingerprint, NameIndex index) {}
+    
     /**
      * Clears the roster.
      */
     public void clear() {
-        squashedToOriginal.clear();
-        rosterNames.clear();
+        index = EMPTY_INDEX;
+        rosterNames = List.of();
+        rosterFingerprint = null;
     }
 }
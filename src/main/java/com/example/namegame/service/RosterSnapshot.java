@@ -0,0 +1,157 @@
+package com.example.namegame.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A parsed roster saved in a compact binary file, so an unchanged roster
+ * spreadsheet doesn't have to be parsed, squashed and indexed again.
+ * <p>
+ * The file holds the roster file's path, size, modification time and content
+ * hash, the names in sheet order, and the nodes of the fuzzy matching index.
+ * It is read into memory in one call and decoded from a heap buffer; it isn't
+ * memory-mapped, since a mapped file can't be replaced on Windows until the
+ * mapping is garbage collected.
+ */
+record RosterSnapshot(String fingerprint, List<String> rosterNames, NameIndex index) {
+    private static final int MAGIC = 0x524F5354; // "ROST"
+
+    /** Bump when the file layout or name squashing changes so older snapshots are ignored. */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    /**
+     * Reads a snapshot if it was made from the given roster file as it is now.
+     * @param fingerprint Computes the roster file's content hash, only called
+     *                    if the path, size and modification time match
+     * @return The snapshot, or null if there is none or it is out of date
+     */
+    static RosterSnapshot read(Path snapshotFile, Path rosterFile, Supplier<String> fingerprint) {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if (in.getInt() != MAGIC || in.getInt() != SNAPSHOT_VERSION) {
+                return null;
+            }
+
+            // Cheap checks first; only hash the roster file if they pass
+            String path = readString(in);
+            long size = in.getLong();
+            long modified = in.getLong();
+            String storedFingerprint = readString(in);
+            if (!path.equals(rosterFile.toAbsolutePath().toString()) ||
+                size != Files.size(rosterFile) ||
+                modified != Files.getLastModifiedTime(rosterFile).toMillis() ||
+                !storedFingerprint.equals(fingerprint.get())) {
+                return null;
+            }
+
+            int nameCount = in.getInt();
+            List<String> rosterNames = new ArrayList<>(nameCount);
+            for (int i = 0; i < nameCount; i++) {
+                rosterNames.add(readString(in));
+            }
+
+            int nodeCount = in.getInt();
+            char[][] keys = new char[nodeCount][];
+            String[] nodeNames = new String[nodeCount];
+            int[] firstChild = new int[nodeCount];
+            int[] nextSibling = new int[nodeCount];
+            int[] edgeDistance = new int[nodeCount];
+            int[] maxChildDistance = new int[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                keys[i] = readString(in).toCharArray();
+                nodeNames[i] = rosterNames.get(in.getInt());
+                firstChild[i] = in.getInt();
+                nextSibling[i] = in.getInt();
+                edgeDistance[i] = in.getInt();
+                maxChildDistance[i] = in.getInt();
+            }
+
+            NameIndex index = NameIndex.restore(new NameIndex.Nodes(
+                keys, nodeNames, firstChild, nextSibling, edgeDistance, maxChildDistance));
+            return new RosterSnapshot(storedFingerprint, rosterNames, index);
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            System.err.println("Ignoring unreadable roster snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot through a temp file, so a crash never leaves a partial snapshot.
+     */
+    void write(Path snapshotFile, Path rosterFile) {
+        if (fingerprint == null) {
+            return;
+        }
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            writeString(out, rosterFile.toAbsolutePath().toString());
+            out.writeLong(Files.size(rosterFile));
+            out.writeLong(Files.getLastModifiedTime(rosterFile).toMillis());
+            writeString(out, fingerprint);
+
+            out.writeInt(rosterNames.size());
+            for (String name : rosterNames) {
+                writeString(out, name);
+            }
+
+            // Nodes refer to their roster name by its position in the list above.
+            // Where names share a squashed key, the map kept the last one.
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < rosterNames.size(); i++) {
+                positions.put(rosterNames.get(i), i);
+            }
+            NameIndex.Nodes nodes = index.nodes();
+            out.writeInt(nodes.keys().length);
+            for (int i = 0; i < nodes.keys().length; i++) {
+                writeString(out, new String(nodes.keys()[i]));
+                out.writeInt(positions.get(nodes.rosterNames()[i]));
+                out.writeInt(nodes.firstChild()[i]);
+                out.writeInt(nodes.nextSibling()[i]);
+                out.writeInt(nodes.edgeDistance()[i]);
+                out.writeInt(nodes.maxChildDistance()[i]);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save roster snapshot: " + e.getMessage());
+            return;
+        }
+        try {
+            try {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save roster snapshot: " + e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import com.example.namegame.model.Student;
+import com.example.namegame.model.UnmatchedImage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps recently loaded class sections (an images directory with its roster,
+ * students and unmatched images) in memory, so switching back to one doesn't
+ * need a full reload.
+ * <p>
+ * Sections are evicted least recently used first once there are too many or
+ * their estimated size exceeds the memory budget. A section is only reused
+ * while its directory, its files and its roster are unchanged since it was loaded.
+ */
+public class SectionLibrary {
+    private static final int MAX_SECTIONS = 8;
+    private static final long MAX_RESIDENT_BYTES = 64L * 1024 * 1024;
+
+    private static SectionLibrary instance;
+
+    // Access-ordered, so iteration starts at the least recently used section
+    private final LinkedHashMap<Path, Section> sections;
+    private long residentBytes;
+
+    private SectionLibrary() {
+        this.sections = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static synchronized SectionLibrary getInstance() {
+        if (instance == null) {
+            instance = new SectionLibrary();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a resident section, if it is still up to date.
+     * @return The section, or null if it isn't resident or its files have changed
+     */
+    public synchronized Section get(Path directory) {
+        Path key = keyOf(directory);
+        Section section = sections.get(key);
+        if (section == null) {
+            return null;
+        }
+        if (!section.stamp().equals(Stamp.of(key))) {
+            // Images were added, removed or replaced, or the roster was edited, while away.
+            // Decoded copies are keyed by path only, so drop them along with the section.
+            remove(key);
+            ImageCacheService images = ImageCacheService.getInstance();
+            section.students().forEach(student -> images.invalidate(student.imagePath()));
+            section.unmatchedImages().forEach(image -> images.invalidate(image.path()));
+            return null;
+        }
+        return section;
+    }
+
+    /**
+     * Adds or replaces a section, evicting least recently used ones to stay in budget.
+     * The section just added is never evicted.
+     */
+    public synchronized void put(Section section) {
+        Path key = keyOf(section.directory());
+        Section previous = sections.put(key, section);
+        if (previous != null) {
+            residentBytes -= previous.estimatedBytes();
+        }
+        residentBytes += section.estimatedBytes();
+
+        Iterator<Map.Entry<Path, Section>> eldest = sections.entrySet().iterator();
+        while ((sections.size() > MAX_SECTIONS || residentBytes > MAX_RESIDENT_BYTES) && eldest.hasNext()) {
+            Map.Entry<Path, Section> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                break;
+            }
+            residentBytes -= entry.getValue().estimatedBytes();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops a section, e.g. when its directory has changed.
+     */
+    public synchronized void remove(Path directory) {
+        Section removed = sections.remove(keyOf(directory));
+        if (removed != null) {
+            residentBytes -= removed.estimatedBytes();
+        }
+    }
+
+    /**
+     * Drops all resident sections.
+     */
+    public synchronized void clear() {
+        sections.clear();
+        residentBytes = 0;
+    }
+
+    /**
+     * Gets the estimated memory held by resident sections.
+     */
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    private static Path keyOf(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * A loaded class section.
+     */
+    public record Section(
+        Path directory,
+        Stamp stamp,
+        RosterService.RosterState roster,
+        List<Student> students,
+        List<UnmatchedImage> unmatchedImages,
+        long estimatedBytes
+    ) {
+        public static Section of(Path directory, Stamp stamp, RosterService.RosterState roster,
+                                 List<Student> students, List<UnmatchedImage> unmatchedImages) {
+            return new Section(directory, stamp, roster, List.copyOf(students), List.copyOf(unmatchedImages),
+                estimateBytes(roster, students, unmatchedImages));
+        }
+
+        /**
+         * Roughly estimates the heap held by a section: strings at two bytes per
+         * character plus fixed per-object overheads. Only used to bound the library.
+         */
+        private static long estimateBytes(RosterService.RosterState roster, List<Student> students,
+                                          List<UnmatchedImage> unmatchedImages) {
+            long bytes = 0;
+            for (String name : roster.rosterNames()) {
+                // The name, its squashed key in the map and index node
+                bytes += 4L * name.length() + 160;
+            }
+            for (Student student : students) {
+                bytes += 2L * (student.firstName().length() + student.lastName().length()) +
+                         2L * student.imagePath().toString().length() + 160;
+            }
+            for (UnmatchedImage image : unmatchedImages) {
+                bytes += 2L * image.path().toString().length() + 120;
+                for (ScoredMatch suggestion : image.suggestions()) {
+                    bytes += 2L * suggestion.rosterName().length() + 64;
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * What a section was loaded from. Adding or removing files changes the
+     * directory's modification time, but replacing a photo in place under the
+     * same name doesn't, so the name, size and modification time of every file
+     * are folded into a hash as well, like the keys of {@link MatchCacheService}.
+     * Editing the roster changes its own modification time.
+     */
+    public record Stamp(long directoryModified, long filesHash, long rosterModified, long rosterSize) {
+        /**
+         * Reads the current stamp of a directory. This stats every file in it,
+         * which is far cheaper than decoding or matching them.
+         * @return The stamp, or null if the directory can't be read
+         */
+        public static Stamp of(Path directory) {
+            try {
+                long directoryModified = Files.getLastModifiedTime(directory).toMillis();
+                long filesHash = hashFiles(directory);
+                Path rosterFile = RosterService.findRosterFile(directory);
+                if (rosterFile == null) {
+                    return new Stamp(directoryModified, filesHash, -1, -1);
+                }
+                return new Stamp(directoryModified, filesHash, Files.getLastModifiedTime(rosterFile).toMillis(),
+                                 Files.size(rosterFile));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Hashes the name, size and modification time of each file. The
+         * per-file hashes are summed, so the listing order doesn't matter.
+         */
+        private static long hashFiles(Path directory) throws IOException {
+            long hash = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        long h = file.getFileName().toString().hashCode();
+                        h = h * 31 + attributes.size();
+                        h = h * 31 + attributes.lastModifiedTime().toMillis();
+                        hash += mix(h);
+                    }
+                }
+            }
+            return hash;
+        }
+
+        /**
+         * Spreads the bits of a value (the MurmurHash3 finalizer), so sums of
+         * different file sets rarely collide.
+         */
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -2,131 +2,564 @@ package com.example.namegame.service;
 
 import com.example.namegame.model.GameStatistics;
 import com.example.namegame.model.Student;
+import com.example.namegame.model.StudentIds;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manages game statistics persistence.
+ * <p>
+ * Statistics are stored as a JSON snapshot plus an append-only journal of the
+ * answers and games recorded since that snapshot. Changes are applied to the
+ * in-memory statistics immediately and queued for a background flusher, which
+ * appends each batch to the journal and folds the journal into a fresh snapshot
+ * once it grows past a threshold.
  */
 public class StatisticsService {
     private static final String STATISTICS_FILE = "statistics.json";
-    
+    private static final String JOURNAL_FILE = "statistics.journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long FLUSH_INTERVAL_MS = 2000;
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final long COMPACTION_THRESHOLD_BYTES = 256 * 1024;
+
     private static StatisticsService instance;
-    
+
     private final Path statisticsPath;
+    private final Path journalPath;
     private final Gson gson;
+    private final BlockingQueue<StatisticsEvent> pendingEvents;
+    // One permit per submitted change, to wake the flusher
+    private final Semaphore submitted;
+    private final ReentrantLock flushLock;
+    private final Thread flusherThread;
+    private volatile boolean running;
     private GameStatistics statistics;
-    
+
+    // State owned by the flusher; only touched while holding flushLock
+    private GameStatistics persistedStatistics;
+    private final List<StatisticsEvent> unsavedEvents;
+    private long nextSequence;
+    private long journalBytes;
+
+    // Flush metrics
+    private long flushCount;
+    private long compactionCount;
+    private long lastFlushNanos;
+    private long maxFlushNanos;
+    private long totalFlushNanos;
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
     private StatisticsService() {
-        this.statisticsPath = ConfigService.getInstance().getDataDirectory().resolve(STATISTICS_FILE);
+        Path dataDirectory = ConfigService.getInstance().getDataDirectory();
+        this.statisticsPath = dataDirectory.resolve(STATISTICS_FILE);
+        this.journalPath = dataDirectory.resolve(JOURNAL_FILE);
         this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.pendingEvents = new LinkedBlockingQueue<>();
+        this.submitted = new Semaphore(0);
+        this.unsavedEvents = new ArrayList<>();
+        this.flushLock = new ReentrantLock();
         load();
+        this.running = true;
+        this.flusherThread = Thread.ofVirtual().name("statistics-flusher").start(this::flushLoop);
     }
-    
+
     public static synchronized StatisticsService getInstance() {
         if (instance == null) {
             instance = new StatisticsService();
         }
         return instance;
     }
-    
+
+    /**
+     * Loads the snapshot and replays any journal entries recorded after it.
+     */
     private void load() {
+        flushLock.lock();
+        try {
+            pendingEvents.clear();
+            unsavedEvents.clear();
+
+            GameStatistics snapshot = readSnapshot();
+            List<JournalEntry> journal = readJournal(snapshot.getJournalSequence());
+
+            statistics = snapshot.copy();
+            persistedStatistics = snapshot;
+            nextSequence = snapshot.getJournalSequence() + 1;
+            for (JournalEntry entry : journal) {
+                entry.event().applyTo(statistics);
+                entry.event().applyTo(persistedStatistics);
+                nextSequence = entry.sequence() + 1;
+            }
+            journalBytes = Files.exists(journalPath) ? Files.size(journalPath) : 0;
+        } catch (IOException e) {
+            System.err.println("Failed to read statistics journal: " + e.getMessage());
+            journalBytes = 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private GameStatistics readSnapshot() {
         if (Files.exists(statisticsPath)) {
             try {
                 String json = Files.readString(statisticsPath);
-                statistics = gson.fromJson(json, GameStatistics.class);
-                if (statistics == null) {
-                    statistics = new GameStatistics();
-                }
+                GameStatistics.Stored loaded = gson.fromJson(json, GameStatistics.Stored.class);
+                return loaded != null ? GameStatistics.fromStored(loaded) : new GameStatistics();
             } catch (IOException e) {
                 System.err.println("Failed to load statistics: " + e.getMessage());
-                statistics = new GameStatistics();
             }
-        } else {
-            statistics = new GameStatistics();
         }
+        return new GameStatistics();
     }
-    
-    private void save() {
+
+    /**
+     * Reads journal entries newer than the given sequence number. Entries already
+     * folded into the snapshot and lines left incomplete by a crash are skipped.
+     */
+    private List<JournalEntry> readJournal(long afterSequence) {
+        List<JournalEntry> entries = new ArrayList<>();
+        if (!Files.exists(journalPath)) {
+            return entries;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            long lastSequence = afterSequence;
+            while ((line = reader.readLine()) != null) {
+                JournalEntry entry = JournalEntry.parse(line);
+                // Sequence numbers only grow, so a repeated number is a batch written again after a failed write
+                if (entry != null && entry.sequence() > lastSequence) {
+                    entries.add(entry);
+                    lastSequence = entry.sequence();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read statistics journal: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Applies a change to the in-memory statistics and queues it for persistence.
+     */
+    private void submit(StatisticsEvent event) {
+        event.applyTo(statistics);
+        pendingEvents.add(event);
+        submitted.release();
+        peakQueueDepth.accumulateAndGet(pendingEvents.size(), Math::max);
+    }
+
+    /**
+     * The background flush loop. Waits for the first pending change, then keeps
+     * collecting until either the batch is full or the flush interval has elapsed.
+     * <p>
+     * Changes stay in the queue until {@link #flush()} drains them under the
+     * lock, so a concurrent {@link #reload()} always sees every unsaved change.
+     * The loop is woken by {@link #shutdown()} rather than interrupted, since an
+     * interrupt during a write would close the journal channel and fail the write.
+     */
+    private void flushLoop() {
+        while (running) {
+            try {
+                if (!submitted.tryAcquire(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                while (running && pendingEvents.size() < MAX_BATCH_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !submitted.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                }
+                // Changes submitted from here on release new permits and get a later flush
+                submitted.drainPermits();
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Drains all queued changes and appends them to the journal immediately,
+     * compacting the journal into the snapshot if it has grown too large.
+     * If the write fails, the changes stay queued for the next flush.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            pendingEvents.drainTo(unsavedEvents);
+            if (unsavedEvents.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            if (!appendToJournal(unsavedEvents)) {
+                return;
+            }
+            unsavedEvents.clear();
+            if (journalBytes >= COMPACTION_THRESHOLD_BYTES) {
+                compact();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            flushCount++;
+            lastFlushNanos = elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            totalFlushNanos += elapsed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of events to the journal with a single write. The
+     * persisted statistics and sequence numbers only advance once the write
+     * has succeeded.
+     * @return true if the batch was written
+     */
+    private boolean appendToJournal(List<StatisticsEvent> events) {
+        StringBuilder sb = new StringBuilder(events.size() * 32);
+        long sequence = nextSequence;
+        for (StatisticsEvent event : events) {
+            sb.append(sequence++).append(' ');
+            event.appendTo(sb);
+            sb.append('\n');
+        }
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.write(journalPath, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to append statistics journal: " + e.getMessage());
+            truncateJournal();
+            return false;
+        }
+        journalBytes += bytes.length;
+        nextSequence = sequence;
+        for (StatisticsEvent event : events) {
+            event.applyTo(persistedStatistics);
+        }
+        return true;
+    }
+
+    /**
+     * Cuts off whatever part of a failed write reached the journal, so the
+     * retried batch doesn't start in the middle of a line.
+     */
+    private void truncateJournal() {
+        if (!Files.isRegularFile(journalPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            if (channel.size() > journalBytes) {
+                channel.truncate(journalBytes);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to truncate statistics journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot and truncates it. The snapshot
+     * records the last folded sequence number, so a crash between writing the
+     * snapshot and truncating the journal never replays an entry twice.
+     */
+    private void compact() {
+        persistedStatistics.setJournalSequence(nextSequence - 1);
+        if (!saveSnapshot(persistedStatistics)) {
+            return;
+        }
         try {
-            String json = gson.toJson(statistics);
-            Files.writeString(statisticsPath, json);
+            Files.deleteIfExists(journalPath);
+            journalBytes = 0;
+            compactionCount++;
+        } catch (IOException e) {
+            System.err.println("Failed to truncate statistics journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and atomically moves it into place,
+     * so a crash mid-write never leaves a truncated statistics file behind.
+     */
+    private boolean saveSnapshot(GameStatistics snapshot) {
+        Path tempPath = statisticsPath.resolveSibling(STATISTICS_FILE + TEMP_SUFFIX);
+        try {
+            String json = gson.toJson(snapshot.toStored());
+            Files.writeString(tempPath, json);
+            try {
+                Files.move(tempPath, statisticsPath,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, statisticsPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
         } catch (IOException e) {
             System.err.println("Failed to save statistics: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Flushes pending changes and folds the journal into the snapshot, leaving
+     * statistics.json as the only statistics file. Called before importing a
+     * backup so a stale local journal is never replayed on top of the import.
+     */
+    public void prepareForImport() {
+        flushLock.lock();
+        try {
+            flush();
+            if (journalBytes > 0 || Files.exists(journalPath)) {
+                compact();
+            }
+        } finally {
+            flushLock.unlock();
         }
     }
-    
+
+    /**
+     * Stops the background flusher and writes any remaining changes.
+     * Called when the application exits.
+     */
+    public void shutdown() {
+        running = false;
+        submitted.release();
+        try {
+            flusherThread.join(FLUSH_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
     public GameStatistics getStatistics() {
         return statistics;
     }
-    
+
     /**
      * Records an answer for a student.
      */
     public void recordAnswer(Student student, boolean correct) {
-        statistics.recordAnswer(student, correct);
-        save();
+        submit(new AnswerEvent(student.id(), correct, System.currentTimeMillis()));
     }
-    
+
     /**
      * Records that a game session was completed.
      */
     public void recordGameComplete(int bestStreak) {
-        statistics.recordGameComplete(bestStreak);
-        save();
+        submit(new GameCompleteEvent(bestStreak));
     }
-    
+
     /**
      * Resets all statistics.
      */
     public void reset() {
-        statistics.reset();
-        save();
+        submit(new ResetEvent());
+        flushLock.lock();
+        try {
+            flush();
+            compact();
+        } finally {
+            flushLock.unlock();
+        }
     }
-    
+
     /**
      * Gets lifetime accuracy percentage.
      */
     public double getLifetimeAccuracy() {
         return statistics.getOverallAccuracy();
     }
-    
+
     /**
      * Gets total matches.
      */
     public int getTotalMatches() {
         return statistics.getTotalMatches();
     }
-    
+
     /**
      * Gets total misses.
      */
     public int getTotalMisses() {
         return statistics.getTotalMisses();
     }
-    
+
     /**
      * Gets games played.
      */
     public int getGamesPlayed() {
         return statistics.getGamesPlayed();
     }
-    
+
     /**
      * Gets best streak.
      */
     public int getBestStreak() {
         return statistics.getBestStreak();
     }
-    
+
+    /**
+     * Gets the number of changes waiting to be written to disk.
+     */
+    public int getQueueDepth() {
+        return pendingEvents.size();
+    }
+
+    /**
+     * Gets a snapshot of the flush latency and queue depth metrics.
+     */
+    public FlushMetrics getFlushMetrics() {
+        flushLock.lock();
+        try {
+            return new FlushMetrics(flushCount, compactionCount, lastFlushNanos, maxFlushNanos,
+                                    totalFlushNanos, pendingEvents.size(), peakQueueDepth.get());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
     /**
-     * Reloads statistics from disk.
+     * Reloads statistics from disk, e.g. after an import. Answers recorded
+     * since the last flush are kept: they are applied on top of the reloaded
+     * statistics and journaled after them.
      */
     public void reload() {
-        load();
+        flushLock.lock();
+        try {
+            pendingEvents.drainTo(unsavedEvents);
+            List<StatisticsEvent> carried = List.copyOf(unsavedEvents);
+            load();
+            carried.forEach(this::submit);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Flush latency and queue depth metrics for the write-behind persistence.
+     */
+    public record FlushMetrics(
+        long flushCount,
+        long compactionCount,
+        long lastFlushNanos,
+        long maxFlushNanos,
+        long totalFlushNanos,
+        int queueDepth,
+        int peakQueueDepth
+    ) {
+        public double averageFlushMillis() {
+            return flushCount > 0 ? totalFlushNanos / (double) flushCount / 1_000_000 : 0;
+        }
+
+        public double maxFlushMillis() {
+            return maxFlushNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * A single queued change to the statistics.
+     */
+    private sealed interface StatisticsEvent permits AnswerEvent, GameCompleteEvent, ResetEvent {
+        void applyTo(GameStatistics target);
+
+        /**
+         * Appends the journal representation of this event (without sequence number).
+         */
+        void appendTo(StringBuilder sb);
+    }
+
+    /**
+     * An answer, given at answeredAt in epoch milliseconds.
+     * The journal stores the student's squashed name, since IDs are only valid for one run.
+     */
+    private record AnswerEvent(int studentId, boolean correct, long answeredAt) implements StatisticsEvent {
+        @Override
+        public void applyTo(GameStatistics target) {
+            target.recordAnswer(studentId, correct, answeredAt);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(correct ? "T1 " : "T0 ").append(answeredAt).append(' ').append(StudentIds.name(studentId));
+        }
+    }
+
+    private record GameCompleteEvent(int streak) implements StatisticsEvent {
+        @Override
+        public void applyTo(GameStatistics target) {
+            target.recordGameComplete(streak);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("G ").append(streak);
+        }
+    }
+
+    private record ResetEvent() implements StatisticsEvent {
+        @Override
+        public void applyTo(GameStatistics target) {
+            target.reset();
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append('R');
+        }
+    }
+
+    /**
+     * A journal line: {@code <sequence> T1 <time> <key>}, {@code <sequence> T0 <time> <key>},
+     * {@code <sequence> G <streak>} or {@code <sequence> R}.
+     */
+    private record JournalEntry(long sequence, StatisticsEvent event) {
+        static JournalEntry parse(String line) {
+            String[] parts = line.split(" ", 3);
+            try {
+                long sequence = Long.parseLong(parts[0]);
+                StatisticsEvent event = switch (parts.length > 1 ? parts[1] : "") {
+                    case "T1" -> parts.length == 3 ? parseTimedAnswer(parts[2], true) : null;
+                    case "T0" -> parts.length == 3 ? parseTimedAnswer(parts[2], false) : null;
+                    case "G" -> parts.length == 3 ? new GameCompleteEvent(Integer.parseInt(parts[2])) : null;
+                    case "R" -> new ResetEvent();
+                    default -> null;
+                };
+                return event != null ? new JournalEntry(sequence, event) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static AnswerEvent parseTimedAnswer(String rest, boolean correct) {
+            int space = rest.indexOf(' ');
+            if (space < 0) {
+                return null;
+            }
+            long answeredAt = Long.parseLong(rest.substring(0, space));
+            return new AnswerEvent(StudentIds.internSaved(rest.substring(space + 1)), correct, answeredAt);
+        }
     }
 }
@@ -0,0 +1,329 @@
+package com.example.namegame.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Stores downscaled copies of student photos in the data directory, so views
+ * that show small images don't have to decode the full-size originals.
+ * <p>
+ * Each photo gets one JPEG per size tier, named after a hash of its path and
+ * modification time, so edited photos get fresh thumbnails automatically.
+ * Names start with a hash of the photo's directory, so pruning one section's
+ * thumbnails leaves those of other sections alone.
+ */
+public class ThumbnailService {
+    private static final String THUMBNAIL_DIR = "thumbnails";
+
+    /** Longest side of each stored size, smallest first. */
+    private static final int[] TIERS = {128, 256, 512};
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final String TEMP_SUFFIX = ".tmp";
+    /** Temp files older than this were left behind by a crash and can be pruned. */
+    private static final long STALE_TEMP_MS = 60 * 60 * 1000;
+
+    private static ThumbnailService instance;
+
+    private final Path thumbnailDirectory;
+    private final ExecutorService generator;
+    private final AtomicInteger generation;
+
+    private ThumbnailService() {
+        this.thumbnailDirectory = ConfigService.getInstance().getDataDirectory().resolve(THUMBNAIL_DIR);
+        int threads = Math.clamp(Runtime.getRuntime().availableProcessors() / 2, 1, 4);
+        this.generator = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-generator");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.generation = new AtomicInteger();
+        try {
+            for (int tier : TIERS) {
+                Files.createDirectories(tierDirectory(tier));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to create thumbnail directory: " + e.getMessage());
+        }
+    }
+
+    public static synchronized ThumbnailService getInstance() {
+        if (instance == null) {
+            instance = new ThumbnailService();
+        }
+        return instance;
+    }
+
+    /**
+     * Finds a stored thumbnail large enough to show a photo at the given size.
+     * @return The smallest suitable thumbnail, or null if none has been generated
+     */
+    public Path find(Path source, int width, int height) {
+        int needed = Math.max(width, height);
+        String name = null;
+        for (int tier : TIERS) {
+            if (tier < needed) {
+                continue;
+            }
+            if (name == null) {
+                name = thumbnailName(source);
+                if (name == null) {
+                    return null;
+                }
+            }
+            Path thumbnail = tierDirectory(tier).resolve(name);
+            if (Files.exists(thumbnail)) {
+                return thumbnail;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates missing thumbnails for the given photos in the background.
+     * Starting a new full pass abandons the remaining work of the previous one.
+     * @param sources The photos to generate thumbnails for
+     * @param directory If not null, sources is every photo in this directory,
+     *                  and thumbnails of its removed or outdated photos are
+     *                  deleted afterwards; thumbnails of other directories are kept
+     * @return A future completing with the number of photos that were processed
+     */
+    public CompletableFuture<Integer> generateAsync(Collection<Path> sources, Path directory) {
+        boolean prune = directory != null;
+        int pass = prune ? generation.incrementAndGet() : generation.get();
+        List<Path> work = List.copyOf(sources);
+        Set<String> keep = prune ? ConcurrentHashMap.newKeySet() : null;
+        AtomicInteger generated = new AtomicInteger();
+        long start = System.nanoTime();
+
+        CompletableFuture<?>[] tasks = work.stream()
+            .map(source -> CompletableFuture.runAsync(() -> {
+                if (generation.get() != pass) {
+                    return;
+                }
+                String name = thumbnailName(source);
+                if (name == null) {
+                    return;
+                }
+                if (keep != null) {
+                    keep.add(name);
+                }
+                if (generate(source, name)) {
+                    generated.incrementAndGet();
+                }
+            }, generator))
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(tasks).thenApply(ignored -> {
+            if (keep != null && generation.get() == pass) {
+                prune(directoryPrefix(directory), keep);
+            }
+            if (generated.get() > 0) {
+                System.out.println("Generated thumbnails for " + generated.get() + " photos in " +
+                                  (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+            return generated.get();
+        });
+    }
+
+    /**
+     * Writes every missing tier for one photo, decoding the original at most once.
+     * @return true if any thumbnail was written
+     */
+    private boolean generate(Path source, String name) {
+        boolean missing = false;
+        for (int tier : TIERS) {
+            if (!Files.exists(tierDirectory(tier).resolve(name))) {
+                missing = true;
+                break;
+            }
+        }
+        if (!missing) {
+            return false;
+        }
+
+        try {
+            BufferedImage original = ImageIO.read(source.toFile());
+            if (original == null) {
+                return false;
+            }
+            // Work down from the largest tier, so each step scales an already small image
+            BufferedImage scaled = original;
+            for (int i = TIERS.length - 1; i >= 0; i--) {
+                scaled = scaleToFit(scaled, TIERS[i]);
+                Path target = tierDirectory(TIERS[i]).resolve(name);
+                if (!Files.exists(target)) {
+                    writeJpeg(scaled, target);
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("Failed to generate thumbnail for " + source.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Scales an image down so its longest side is at most the given size, halving
+     * repeatedly for better quality than a single bilinear step. Transparent
+     * areas are filled with white, since the result is stored as JPEG.
+     */
+    private static BufferedImage scaleToFit(BufferedImage image, int size) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = image;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * Writes a JPEG through a temp file, so readers never see a partial thumbnail.
+     * Each write gets its own temp file, since a full pass and a watcher update
+     * can write the same thumbnail at once; the last move wins.
+     */
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", TEMP_SUFFIX);
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes the thumbnails starting with a prefix whose photo is gone or has
+     * changed since they were made. Files still being written are left alone,
+     * but temp files abandoned by a crash are removed.
+     */
+    private void prune(String prefix, Set<String> keep) {
+        int removed = 0;
+        for (int tier : TIERS) {
+            try (Stream<Path> files = Files.list(tierDirectory(tier))) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    boolean writing = name.endsWith(TEMP_SUFFIX) && !isStaleTemp(file);
+                    if (name.startsWith(prefix) && !writing && !keep.contains(name)) {
+                        Files.deleteIfExists(file);
+                        removed++;
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to prune thumbnails: " + e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            System.out.println("Removed " + removed + " outdated thumbnails");
+        }
+    }
+
+    private static boolean isStaleTemp(Path file) {
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > STALE_TEMP_MS;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes all stored thumbnails.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        prune("", Set.of());
+    }
+
+    private Path tierDirectory(int tier) {
+        return thumbnailDirectory.resolve(String.valueOf(tier));
+    }
+
+    /**
+     * Builds the thumbnail file name from the photo's directory, absolute path
+     * and modification time.
+     * @return The file name, or null if the photo can't be read
+     */
+    private static String thumbnailName(Path source) {
+        try {
+            Path absolute = source.toAbsolutePath().normalize();
+            long modified = Files.getLastModifiedTime(source).toMillis();
+            return directoryPrefix(absolute.getParent()) + hash(absolute + "|" + modified, 16) + ".jpg";
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds the file name prefix shared by all thumbnails of one directory's photos.
+     */
+    private static String directoryPrefix(Path directory) {
+        return hash(String.valueOf(directory.toAbsolutePath().normalize()), 8) + "-";
+    }
+
+    /**
+     * Hashes a string to the given number of bytes, in hex.
+     */
+    private static String hash(String text, int bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
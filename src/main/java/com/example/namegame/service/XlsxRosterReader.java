@@ -0,0 +1,183 @@
+package com.example.namegame.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads the "Name" column of an .xlsx roster by streaming the first sheet's XML,
+ * without building POI's in-memory model of the whole workbook.
+ */
+final class XlsxRosterReader {
+
+    private XlsxRosterReader() {
+    }
+
+    /**
+     * Reads the non-blank names below the "Name" header of the first sheet.
+     * @return The names, or null if the sheet has no "Name" column
+     * @throws IOException If the file can't be read
+     */
+    static List<String> readNames(Path rosterFile) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(rosterFile.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Roster workbook has no sheets");
+            }
+
+            NameColumnHandler names = new NameColumnHandler(strings, styles);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(names);
+                parser.parse(new InputSource(sheet));
+            }
+
+            return names.nameColumn >= 0 ? names.names : null;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds the "Name" column in the header row and collects that column's
+     * values from the rows below it. Cells in other columns are skipped
+     * without being decoded or formatted.
+     */
+    private static final class NameColumnHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable strings;
+        // Null for workbooks written without a styles part
+        private final StylesTable styles;
+        private final DataFormatter formatter = new DataFormatter();
+        private final StringBuilder text = new StringBuilder();
+        private final List<String> names = new ArrayList<>();
+        private int nameColumn = -1;
+        private int rowIndex = -1;
+        private int columnIndex;
+        private boolean capturing;
+        private boolean inValue;
+        private String cellType;
+        private String cellStyle;
+
+        NameColumnHandler(ReadOnlySharedStringsTable strings, StylesTable styles) {
+            this.strings = strings;
+            this.styles = styles;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    columnIndex = -1;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    columnIndex = r != null ? columnOf(r) : columnIndex + 1;
+                    capturing = rowIndex == 0 || columnIndex == nameColumn;
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    text.setLength(0);
+                }
+                case "v", "t" -> inValue = capturing;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> {
+                    if (capturing) {
+                        acceptCell(cellValue().trim());
+                    }
+                    capturing = false;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void acceptCell(String value) {
+            if (rowIndex == 0) {
+                if (nameColumn < 0 && "Name".equalsIgnoreCase(value)) {
+                    nameColumn = columnIndex;
+                }
+            } else if (!value.isEmpty()) {
+                names.add(value);
+            }
+        }
+
+        /**
+         * Decodes the captured cell text the way POI's DataFormatter shows it.
+         */
+        private String cellValue() {
+            String raw = text.toString();
+            if (cellType == null || cellType.equals("n")) {
+                if (raw.isEmpty()) {
+                    return raw;
+                }
+                XSSFCellStyle style = cellStyle != null && styles != null
+                    ? styles.getStyleAt(Integer.parseInt(cellStyle)) : null;
+                if (style == null) {
+                    return formatter.formatRawCellContents(Double.parseDouble(raw), 0, "General");
+                }
+                String format = style.getDataFormatString();
+                return formatter.formatRawCellContents(Double.parseDouble(raw), style.getDataFormat(),
+                    format != null ? format : "General");
+            }
+            return switch (cellType) {
+                case "s" -> strings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b" -> "0".equals(raw) ? "FALSE" : "TRUE";
+                default -> raw;
+            };
+        }
+
+        /**
+         * Gets the zero-based column index from a cell reference like "AB12".
+         */
+        private static int columnOf(String reference) {
+            int column = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+}
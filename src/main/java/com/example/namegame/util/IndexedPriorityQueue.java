@@ -0,0 +1,192 @@
+package com.example.namegame.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of integer keys in {@code [0, capacity)}, each with a long
+ * priority. Unlike {@link java.util.PriorityQueue}, a key's priority can be
+ * changed or the key removed in O(log n), since each key's heap position is
+ * tracked. Equal priorities are ordered by key, so the order is deterministic.
+ */
+public final class IndexedPriorityQueue {
+    private final int[] heap;       // heap slot -> key
+    private final int[] position;   // key -> heap slot, or -1 if absent
+    private final long[] priority;  // key -> priority
+    private int size;
+
+    public IndexedPriorityQueue(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return position[key] >= 0;
+    }
+
+    /**
+     * Gets the priority of a queued key.
+     */
+    public long priorityOf(int key) {
+        requirePresent(key);
+        return priority[key];
+    }
+
+    /**
+     * Adds a key, or changes its priority if it is already queued.
+     */
+    public void offer(int key, long newPriority) {
+        if (contains(key)) {
+            update(key, newPriority);
+            return;
+        }
+        priority[key] = newPriority;
+        heap[size] = key;
+        position[key] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Changes the priority of a queued key.
+     */
+    public void update(int key, long newPriority) {
+        requirePresent(key);
+        long old = priority[key];
+        priority[key] = newPriority;
+        if (newPriority < old) {
+            siftUp(position[key]);
+        } else {
+            siftDown(position[key]);
+        }
+    }
+
+    /**
+     * Gets the key with the lowest priority without removing it.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the key with the lowest priority.
+     */
+    public int poll() {
+        int key = peek();
+        remove(key);
+        return key;
+    }
+
+    /**
+     * Removes a key if it is queued.
+     */
+    public void remove(int key) {
+        int slot = position[key];
+        if (slot < 0) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            move(heap[last], slot);
+            siftUp(slot);
+            siftDown(position[heap[slot]]);
+        }
+        position[key] = -1;
+    }
+
+    /**
+     * Gets up to {@code count} keys in priority order without changing the
+     * queue. Only heap nodes near the top are visited, so the cost depends on
+     * count, not on the queue size; meant for small look-aheads.
+     */
+    public int[] smallest(int count) {
+        int limit = Math.min(Math.max(count, 0), size);
+        int[] result = new int[limit];
+        if (limit == 0) {
+            return result;
+        }
+
+        // The next smallest key is always at the root or a child of a slot already taken
+        int[] candidates = new int[limit + 1];
+        int candidateCount = 0;
+        candidates[candidateCount++] = 0;
+        for (int i = 0; i < limit; i++) {
+            int best = 0;
+            for (int c = 1; c < candidateCount; c++) {
+                if (less(heap[candidates[c]], heap[candidates[best]])) {
+                    best = c;
+                }
+            }
+            int slot = candidates[best];
+            candidates[best] = candidates[--candidateCount];
+            result[i] = heap[slot];
+            int left = 2 * slot + 1;
+            if (left < size) {
+                candidates[candidateCount++] = left;
+            }
+            if (left + 1 < size) {
+                candidates[candidateCount++] = left + 1;
+            }
+        }
+        return result;
+    }
+
+    private void siftUp(int slot) {
+        int key = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (!less(key, heap[parent])) {
+                break;
+            }
+            move(heap[parent], slot);
+            slot = parent;
+        }
+        move(key, slot);
+    }
+
+    private void siftDown(int slot) {
+        int key = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], key)) {
+                break;
+            }
+            move(heap[child], slot);
+            slot = child;
+        }
+        move(key, slot);
+    }
+
+    private void move(int key, int slot) {
+        heap[slot] = key;
+        position[key] = slot;
+    }
+
+    private boolean less(int a, int b) {
+        return priority[a] < priority[b] || (priority[a] == priority[b] && a < b);
+    }
+
+    private void requirePresent(int key) {
+        if (position[key] < 0) {
+            throw new NoSuchElementException("Key not queued: " + key);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.namegame.util;
+
+import java.text.Normalizer;
+import java.util.Map;
+
+/**
+ * Turns names into the "squashed" keys used to compare them: lower case, with
+ * whitespace, apostrophes, commas, periods and hyphens removed, so
+ * "O'Brien-Smith, Mary Ann" becomes "obriensmithmaryann". With diacritic
+ * folding, accented Latin letters also lose their accents ("Zoë Núñez" becomes
+ * "zoenunez").
+ * <p>
+ * Each call is a single pass over the characters without regular expressions.
+ * {@link #squash(String)} returns input made up only of lower-case ASCII
+ * letters and digits as is, without allocating; any other input is copied.
+ * Lower-casing doesn't depend on the default locale.
+ * <p>
+ * Keys are worked out once and kept: each {@code Student} holds its own, and
+ * a roster's keys are held by its {@code NameIndex} from the time it loads.
+ */
+public final class NameNormalizer {
+    /** The normalizer used throughout the app, with diacritic folding. */
+    public static final NameNormalizer DEFAULT = new NameNormalizer(true);
+
+    // Folded, lower-case forms of U+00C0 to U+024F (Latin-1 Supplement to Latin Extended-B)
+    private static final char FOLD_FIRST = 'À';
+    private static final char FOLD_LAST = 'ɏ';
+    private static final String[] FOLDED = buildFoldTable();
+
+    private final boolean foldDiacritics;
+
+    /**
+     * @param foldDiacritics Whether to strip accents from Latin letters
+     */
+    public NameNormalizer(boolean foldDiacritics) {
+        this.foldDiacritics = foldDiacritics;
+    }
+
+    /**
+     * Squashes a name or any part of one. "Smith, John" -> "smithjohn"
+     */
+    public String squash(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        int clean = cleanPrefix(text);
+        if (clean == text.length()) {
+            return text;
+        }
+        char[] buffer = new char[bufferSize(text.length())];
+        text.getChars(0, clean, buffer, 0);
+        return new String(buffer, 0, append(text, clean, text.length(), buffer, clean));
+    }
+
+    /**
+     * Squashes two name parts as one, without concatenating them first.
+     * ("Smith", "John") -> "smithjohn"
+     */
+    public String squash(String first, String second) {
+        char[] buffer = new char[bufferSize(first.length() + second.length())];
+        int length = append(first, 0, first.length(), buffer, 0);
+        length = append(second, 0, second.length(), buffer, length);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Squashes the name part of a photo file name: the extension and
+     * everything from the first underscore on are dropped.
+     * "SmithJohn_12345.jpg" -> "smithjohn"
+     * <p>
+     * Whitespace is dropped as in roster names, so "Smith John.jpg" is an
+     * exact match for "Smith, John". The regex this replaced only removed
+     * apostrophes, commas, periods and hyphens from file names, leaving such
+     * files to fuzzy matching.
+     */
+    public String squashFilename(String filename) {
+        int end = filename.lastIndexOf('.');
+        if (end <= 0) {
+            end = filename.length();
+        }
+        int underscore = filename.indexOf('_');
+        if (underscore > 0 && underscore < end) {
+            end = underscore;
+        }
+        char[] buffer = new char[bufferSize(end)];
+        return new String(buffer, 0, append(filename, 0, end, buffer, 0));
+    }
+
+    /**
+     * Gets a buffer size that fits any squashed form of the given number of characters.
+     */
+    private int bufferSize(int length) {
+        // A folded letter is at most two characters (ß -> ss)
+        return foldDiacritics ? 2 * length : length;
+    }
+
+    /**
+     * Gets the length of the leading run of characters that squashing keeps unchanged.
+     */
+    private static int cleanPrefix(String text) {
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9')) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Appends the squashed form of {@code text[from, to)} to the buffer.
+     * @return The new length of the buffer's content
+     */
+    private int append(String text, int from, int to, char[] buffer, int length) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                } else if (isAsciiSeparator(c)) {
+                    continue;
+                }
+                buffer[length++] = c;
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)
+                       || c == '\u2019' || c == '\u2010' || c == '\u2011') {
+                // Non-breaking spaces, typographic apostrophes and hyphens from spreadsheets and word processors
+                continue;
+            } else if (foldDiacritics && c >= FOLD_FIRST && c <= FOLD_LAST) {
+                String folded = FOLDED[c - FOLD_FIRST];
+                for (int j = 0; j < folded.length(); j++) {
+                    buffer[length++] = folded.charAt(j);
+                }
+            } else if (foldDiacritics && Character.getType(c) == Character.NON_SPACING_MARK) {
+                // A combining accent from decomposed input, e.g. "e" followed by U+0308
+                continue;
+            } else {
+                buffer[length++] = Character.toLowerCase(c);
+            }
+        }
+        return length;
+    }
+
+    private static boolean isAsciiSeparator(char c) {
+        return switch (c) {
+            case ' ', '\t', '\n', '\u000B', '\f', '\r', '\'', ',', '.', '-' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Builds the fold table: each letter decomposed with NFD and its accents
+     * dropped, plus the letters that don't decompose (ß, æ, ø, ł, ...).
+     */
+    private static String[] buildFoldTable() {
+        Map<Character, String> special = Map.ofEntries(
+            Map.entry('ß', "ss"), Map.entry('Æ', "ae"), Map.entry('æ', "ae"),
+            Map.entry('Œ', "oe"), Map.entry('œ', "oe"), Map.entry('Ø', "o"), Map.entry('ø', "o"),
+            Map.entry('Đ', "d"), Map.entry('đ', "d"), Map.entry('Ð', "d"), Map.entry('ð', "d"),
+            Map.entry('Ł', "l"), Map.entry('ł', "l"), Map.entry('Þ', "th"), Map.entry('þ', "th"),
+            Map.entry('ı', "i"), Map.entry('Ĳ', "ij"), Map.entry('ĳ', "ij"), Map.entry('Ħ', "h"), Map.entry('ħ', "h")
+        );
+        String[] table = new String[FOLD_LAST - FOLD_FIRST + 1];
+        for (char c = FOLD_FIRST; c <= FOLD_LAST; c++) {
+            String folded = special.get(c);
+            if (folded == null) {
+                StringBuilder sb = new StringBuilder();
+                for (char d : Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).toCharArray()) {
+                    if (Character.getType(d) != Character.NON_SPACING_MARK) {
+                        // Accented forms of the special letters, e.g. Ǣ and Ǿ, fold like the letter
+                        String base = special.get(d);
+                        sb.append(base != null ? base : String.valueOf(Character.toLowerCase(d)));
+                    }
+                }
+                folded = sb.toString();
+            }
+            table[c - FOLD_FIRST] = folded;
+        }
+        return table;
+    }
+}
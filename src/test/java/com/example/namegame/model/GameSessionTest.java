@@ -0,0 +1,132 @@
+package com.example.namegame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameSessionTest {
+    private static final List<Student> STUDENTS = List.of(
+        student("John", "Smith"), student("Jon", "Smith"), student("Jane", "Doe"),
+        student("Ann", "Lee"), student("Bob", "Ray"), student("Cy", "Young"));
+
+    @Test
+    void asksEveryStudentOnceInTheUpcomingOrder() {
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, STUDENTS);
+        List<Student> expected = new ArrayList<>();
+        expected.add(session.getCurrentStudent());
+        expected.addAll(session.getUpcomingStudents(STUDENTS.size()));
+
+        List<Student> asked = new ArrayList<>();
+        for (int i = 0; !session.isComplete(); i++) {
+            assertEquals(STUDENTS.size() - i, session.getRemainingQuestions());
+            asked.add(session.getCurrentStudent());
+            if (i % 3 == 0) {
+                session.recordIncorrect();
+            } else {
+                session.recordCorrect();
+            }
+        }
+
+        assertEquals(expected, asked);
+        assertEquals(Set.copyOf(STUDENTS), Set.copyOf(asked));
+        assertNull(session.getCurrentStudent());
+        assertEquals(4, session.getScore());
+        assertEquals(2, session.getMisses());
+        assertEquals(2, session.getBestStreak());
+    }
+
+    @Test
+    void distractorsAreDistinctOtherStudents() {
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, STUDENTS);
+        while (!session.isComplete()) {
+            for (int count = 0; count <= STUDENTS.size() + 1; count++) {
+                List<Student> distractors = session.getDistractors(count);
+                assertEquals(Math.min(count, STUDENTS.size() - 1), distractors.size());
+                assertEquals(distractors.size(), new HashSet<>(distractors).size());
+                assertFalse(distractors.contains(session.getCurrentStudent()));
+            }
+            session.recordCorrect();
+        }
+        assertEquals(3, session.getDistractors(3).size());
+    }
+
+    @Test
+    void similarNamesComeFirst() {
+        Map<String, List<String>> similar = Map.of(
+            "smithjohn", List.of("smithjon", "leeann", "unknownname"),
+            "smithjon", List.of("smithjohn"));
+        int johnIndex = STUDENTS.indexOf(student("John", "Smith"));
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, STUDENTS,
+            new FixedScheduler(johnIndex), name -> similar.getOrDefault(name, List.of()));
+
+        for (int i = 0; i < 20; i++) {
+            List<Student> distractors = session.getDistractors(3);
+            assertEquals(student("Jon", "Smith"), distractors.get(0));
+            assertEquals(student("Ann", "Lee"), distractors.get(1));
+            assertFalse(distractors.subList(2, 3).contains(student("John", "Smith")));
+        }
+        assertEquals(List.of(student("Jon", "Smith")), session.getDistractors(1));
+    }
+
+    @Test
+    void studentsSharingASimilarNameAreAllOffered() {
+        // Two photos of students named "Jon Smith", e.g. siblings or a duplicate
+        Student twin = new Student("Jon", "Smith", Path.of("smithjon_2.jpg"));
+        List<Student> students = new ArrayList<>(STUDENTS);
+        students.add(twin);
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, students,
+            new FixedScheduler(0), name -> List.of("smithjon"));
+
+        List<Student> distractors = session.getDistractors(3);
+        assertEquals(List.of(student("Jon", "Smith"), twin), distractors.subList(0, 2));
+    }
+
+    @Test
+    void distractorListIsAReadOnlyView() {
+        GameSession session = new GameSession(GameMode.MULTIPLE_CHOICE, STUDENTS);
+        List<Student> distractors = session.getDistractors(2);
+        assertThrows(UnsupportedOperationException.class, () -> distractors.add(STUDENTS.get(0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> distractors.get(2));
+        assertSame(distractors, session.getDistractors(4));
+        assertEquals(4, distractors.size());
+    }
+
+    private static Student student(String first, String last) {
+        return new Student(first, last, Path.of(last + first + ".jpg"));
+    }
+
+    /**
+     * Keeps asking about the same student.
+     */
+    private record FixedScheduler(int current) implements QuestionScheduler {
+        @Override
+        public void answered(boolean correct) {
+        }
+
+        @Override
+        public int[] upcoming(int count) {
+            return new int[0];
+        }
+
+        @Override
+        public int remaining() {
+            return 1;
+        }
+
+        @Override
+        public int total() {
+            return 1;
+        }
+    }
+}
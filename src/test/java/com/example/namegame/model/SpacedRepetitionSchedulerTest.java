@@ -0,0 +1,114 @@
+package com.example.namegame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpacedRepetitionSchedulerTest {
+    private static final long NOW = 1_000_000_000_000L;
+
+    @Test
+    void dueStudentsComeFirst() {
+        List<Student> students = students(30);
+        GameStatistics stats = new GameStatistics();
+        // Students 10 and up were answered right five times just now; 0-9 were never asked
+        for (int i = 10; i < students.size(); i++) {
+            for (int j = 0; j < 5; j++) {
+                stats.recordAnswer(students.get(i).id(), true, NOW);
+            }
+        }
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students, stats, NOW);
+
+        assertEquals(SpacedRepetitionScheduler.MIN_QUESTIONS, scheduler.total());
+        List<Integer> asked = askAll(scheduler, -1);
+        Set<Integer> firstTen = new HashSet<>(asked.subList(0, 10));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(firstTen.contains(i), "Student " + i + " wasn't asked first");
+        }
+    }
+
+    @Test
+    void everyDueStudentIsAsked() {
+        List<Student> students = students(30);
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students, new GameStatistics(), NOW);
+        assertEquals(30, scheduler.total());
+        assertEquals(30, new HashSet<>(askAll(scheduler, -1)).size());
+    }
+
+    @Test
+    void missedStudentComesBackThreeQuestionsLater() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students(25), new GameStatistics(), NOW);
+        int missed = scheduler.current();
+        List<Integer> asked = askAll(scheduler, 0);
+        assertEquals(missed, asked.get(4));
+        assertEquals(26, asked.size());
+    }
+
+    @Test
+    void reserveFillsTheGapNearTheEnd() {
+        // 20 new students are planned and 5 well-known ones held back; miss the last planned one
+        List<Student> students = students(25);
+        GameStatistics stats = new GameStatistics();
+        for (int i = 20; i < students.size(); i++) {
+            for (int j = 0; j < 5; j++) {
+                stats.recordAnswer(students.get(i).id(), true, NOW);
+            }
+        }
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students, stats, NOW);
+        assertEquals(20, scheduler.total());
+        List<Integer> asked = askAll(scheduler, 19);
+        assertEquals(asked.get(19), asked.get(23));
+        assertEquals(24, asked.size());
+        assertEquals(23, new HashSet<>(asked).size());
+    }
+
+    @Test
+    void smallRosterRepeatsAfterWhatIsLeft() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students(2), new GameStatistics(), NOW);
+        List<Integer> asked = askAll(scheduler, 0);
+        assertEquals(List.of(asked.get(0), asked.get(1), asked.get(0)), asked);
+
+        scheduler = new SpacedRepetitionScheduler(students(1), new GameStatistics(), NOW);
+        assertEquals(List.of(0, 0), askAll(scheduler, 0));
+    }
+
+    @Test
+    void missedStudentIsRepeatedAtMostTwice() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(students(1), new GameStatistics(), NOW);
+        List<Integer> asked = new ArrayList<>();
+        while (scheduler.current() >= 0) {
+            asked.add(scheduler.current());
+            scheduler.answered(false);
+        }
+        assertEquals(List.of(0, 0, 0), asked);
+        assertEquals(3, scheduler.total());
+    }
+
+    /**
+     * Answers every question, missing only the one at the given position.
+     * @return The student indices in the order they were asked
+     */
+    private static List<Integer> askAll(QuestionScheduler scheduler, int missAt) {
+        List<Integer> asked = new ArrayList<>();
+        while (scheduler.current() >= 0) {
+            asked.add(scheduler.current());
+            scheduler.answered(asked.size() - 1 != missAt);
+        }
+        return asked;
+    }
+
+    private static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            students.add(new Student("Student" + i, "Spaced", Path.of("spaced" + i + ".jpg")));
+        }
+        return students;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.namegame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StudentTest {
+    private static final Path PHOTO = Path.of("nunezzoe.jpg");
+
+    @Test
+    void keyAndIdAreWorkedOutFromTheName() {
+        Student student = new Student("Zoë", "Núñez", PHOTO);
+        assertEquals("nunezzoe", student.squashedName());
+        assertEquals(StudentIds.intern("nunezzoe"), student.id());
+        assertEquals("nunezzoe", StudentIds.name(student.id()));
+    }
+
+    @Test
+    void studentsWithTheSameNameAreEqual() {
+        assertEquals(new Student("Zoë", "Núñez", PHOTO), new Student("Zoë", "Núñez", PHOTO));
+        assertNotEquals(new Student("Zoë", "Núñez", PHOTO).id(), new Student("Zoe", "Nunes", PHOTO).id());
+    }
+
+    @Test
+    void keyOrIdNotMatchingTheNameIsRejected() {
+        int id = StudentIds.intern("nunezzoe");
+        int otherId = StudentIds.intern("smithjohn");
+        assertEquals(new Student("Zoë", "Núñez", PHOTO), new Student("Zoë", "Núñez", PHOTO, "nunezzoe", id));
+        assertThrows(IllegalArgumentException.class, () -> new Student("Zoë", "Núñez", PHOTO, "smithjohn", otherId));
+        assertThrows(IllegalArgumentException.class, () -> new Student("Zoë", "Núñez", PHOTO, "nunezzoe", otherId));
+        assertThrows(IllegalArgumentException.class, () -> new Student("Zoë", "Núñez", PHOTO, "nunezzoe", -1));
+        assertThrows(NullPointerException.class, () -> new Student(null, "Núñez", PHOTO));
+    }
+}
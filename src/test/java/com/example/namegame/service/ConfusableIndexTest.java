@@ -0,0 +1,79 @@
+package com.example.namegame.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfusableIndexTest {
+
+    @Test
+    void closestNamesComeFirst() {
+        ConfusableIndex index = ConfusableIndex.build(roster(
+            "Smith, John", "Smith, Jon", "Smyth, Joan", "Doe, Jane", "Lee, Ann", "Jones, John"));
+
+        List<String> neighbors = index.neighbors("smithjohn");
+        assertEquals("smithjon", neighbors.get(0));
+        assertTrue(neighbors.contains("smythjoan"));
+        assertFalse(neighbors.contains("smithjohn"));
+        assertFalse(neighbors.contains("leeann"));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void sharedFirstNameCountsTowardsConfusion() {
+        // "Hale, Tom" is three edits from "Bell, Tom" and "Bel, Tim" only two, but it shares the first name
+        ConfusableIndex index = ConfusableIndex.build(roster("Bell, Tom", "Hale, Tom", "Bel, Tim"));
+        assertEquals(List.of("haletom", "beltim"), index.neighbors("belltom"));
+    }
+
+    @Test
+    void unknownNameHasNoNeighbors() {
+        ConfusableIndex index = ConfusableIndex.build(roster("Smith, John", "Smith, Jon"));
+        assertEquals(List.of(), index.neighbors("doejane"));
+        assertEquals(List.of(), ConfusableIndex.build(Map.of()).neighbors("doejane"));
+    }
+
+    @Test
+    void neighborsAreDistinctNearbyNames() {
+        Random random = new Random(11);
+        Map<String, String> roster = new HashMap<>();
+        while (roster.size() < 500) {
+            String name = LevenshteinReference.randomName(random, 6) + ", " + LevenshteinReference.randomName(random, 5);
+            roster.put(FuzzyMatcher.squashRosterName(name), name);
+        }
+        ConfusableIndex index = ConfusableIndex.build(roster);
+
+        int withNeighbors = 0;
+        for (String key : roster.keySet()) {
+            List<String> neighbors = index.neighbors(key);
+            assertTrue(neighbors.size() <= ConfusableIndex.NEIGHBORS);
+            assertEquals(neighbors.size(), new HashSet<>(neighbors).size());
+            assertFalse(neighbors.contains(key));
+            for (String neighbor : neighbors) {
+                assertTrue(roster.containsKey(neighbor));
+                assertTrue(LevenshteinReference.distance(key, neighbor) <= 4, key + " ~ " + neighbor);
+            }
+            if (!neighbors.isEmpty()) {
+                withNeighbors++;
+            }
+        }
+        // Over a small alphabet, nearly every name has a close neighbour
+        assertTrue(withNeighbors > 450, "Only " + withNeighbors + " names have neighbours");
+    }
+
+    private static Map<String, String> roster(String... names) {
+        Map<String, String> roster = new HashMap<>();
+        for (String name : names) {
+            roster.put(FuzzyMatcher.squashRosterName(name), name);
+        }
+        return roster;
+    }
+}
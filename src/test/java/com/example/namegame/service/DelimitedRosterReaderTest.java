@@ -0,0 +1,96 @@
+package com.example.namegame.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DelimitedRosterReaderTest {
+    @TempDir
+    Path directory;
+
+    private List<String> read(String content, char delimiter) throws IOException {
+        return read(content.getBytes(StandardCharsets.UTF_8), delimiter);
+    }
+
+    private List<String> read(byte[] content, char delimiter) throws IOException {
+        Path file = directory.resolve("roster.csv");
+        Files.write(file, content);
+        return DelimitedRosterReader.readNames(file, delimiter);
+    }
+
+    @Test
+    void readsNameColumnAnywhereInHeader() throws IOException {
+        String csv = "ID,Name,Email\n1,\"Smith, John\",js@example.com\n2,\"Doe, Jane\",jd@example.com\n";
+        assertEquals(List.of("Smith, John", "Doe, Jane"), read(csv, ','));
+    }
+
+    @Test
+    void matchesHeaderIgnoringCaseAndSpaces() throws IOException {
+        assertEquals(List.of("Lee, Ann"), read(" name \nLee, Ann\n", '\t'));
+    }
+
+    @Test
+    void returnsNullWithoutNameColumn() throws IOException {
+        assertNull(read("ID,Email\n1,js@example.com\n", ','));
+    }
+
+    @Test
+    void handlesCrlfAndMissingFinalLineBreak() throws IOException {
+        assertEquals(List.of("Smith, John", "Doe, Jane"), read("Name\r\n\"Smith, John\"\r\n\"Doe, Jane\"", ','));
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        assertEquals(List.of("Lee, Ann"), read("\uFEFFName\n\"Lee, Ann\"\n", ','));
+    }
+
+    @Test
+    void unescapesDoubledQuotesAndKeepsQuotedLineBreaks() throws IOException {
+        String csv = "Name,Notes\n\"O\"\"Brien, Pat\",\"line one\nline two, still notes\"\n\"Doe, Jane\",x\n";
+        assertEquals(List.of("O\"Brien, Pat", "Doe, Jane"), read(csv, ','));
+    }
+
+    @Test
+    void skipsBlankNamesAndTrims() throws IOException {
+        assertEquals(List.of("Smith, John"), read("Name,ID\n  ,1\n\n\" Smith, John \",2\n", ','));
+    }
+
+    @Test
+    void readsAccentedNamesInUtf8() throws IOException {
+        assertEquals(List.of("Núñez, Zoë", "Doe, Jane"), read("Name\n\"Núñez, Zoë\"\n\"Doe, Jane\"\n", ','));
+    }
+
+    @Test
+    void fallsBackToWindows1252() throws IOException {
+        byte[] cp1252 = "Name\n\"Núñez, Zoë\"\n\"O’Brien, Pat\"\n".getBytes(Charset.forName("windows-1252"));
+        assertEquals(List.of("Núñez, Zoë", "O’Brien, Pat"), read(cp1252, ','));
+    }
+
+    @Test
+    void treatsTruncatedUtf8SequenceAsWindows1252() throws IOException {
+        // 0xC3 alone at the end is "Ã" in windows-1252 but an incomplete UTF-8 sequence
+        byte[] content = {'N', 'a', 'm', 'e', '\n', 'L', 'e', 'e', (byte) 0xC3};
+        assertEquals(List.of("LeeÃ"), read(content, ','));
+    }
+
+    @Test
+    void readsUtf16WithByteOrderMark() throws IOException {
+        String tsv = "\uFEFFID\tName\n1\tNúñez, Zoë\n";
+        assertEquals(List.of("Núñez, Zoë"), read(tsv.getBytes(StandardCharsets.UTF_16LE), '\t'));
+        assertEquals(List.of("Núñez, Zoë"), read(tsv.getBytes(StandardCharsets.UTF_16BE), '\t'));
+    }
+
+    @Test
+    void readsTabSeparatedFiles() throws IOException {
+        assertEquals(List.of("Smith, John", "Núñez, Zoë"), read("ID\tName\n1\tSmith, John\n2\tNúñez, Zoë\n", '\t'));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static com.example.namegame.service.LevenshteinReference.distance;
+import static com.example.namegame.service.LevenshteinReference.randomName;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the banded distance kernel against plain Levenshtein distance, and
+ * the matcher's handling of query names.
+ */
+class FuzzyMatcherTest {
+    private static final NameIndex ROSTER = NameIndex.build(Map.of(
+        "smithjohn", "Smith, John", "doejane", "Doe, Jane", "nunezzoe", "Núñez, Zoë"));
+
+    @Test
+    void boundedDistanceMatchesLevenshteinUpToCutoff() {
+        Random random = new Random(1);
+        int[] previous = new int[32];
+        int[] current = new int[32];
+        for (int round = 0; round < 20_000; round++) {
+            String a = randomName(random, 12);
+            String b = randomName(random, 12);
+            int maxDistance = random.nextInt(8);
+            int expected = distance(a, b);
+            int actual = FuzzyMatcher.boundedDistance(a.toCharArray(), b.toCharArray(), maxDistance, previous, current);
+            if (expected <= maxDistance) {
+                assertEquals(expected, actual, a + " / " + b + " k=" + maxDistance);
+            } else {
+                assertTrue(actual > maxDistance, a + " / " + b + " k=" + maxDistance + " gave " + actual);
+            }
+        }
+    }
+
+    @Test
+    void boundedDistanceHandlesEmptyAndEqualNames() {
+        int[] previous = new int[8];
+        int[] current = new int[8];
+        assertEquals(0, FuzzyMatcher.boundedDistance(new char[0], new char[0], 3, previous, current));
+        assertEquals(3, FuzzyMatcher.boundedDistance("abc".toCharArray(), new char[0], 3, previous, current));
+        assertEquals(0, FuzzyMatcher.boundedDistance("smith".toCharArray(), "smith".toCharArray(), 0, previous, current));
+        assertEquals(1, FuzzyMatcher.boundedDistance("smith".toCharArray(), "smyth".toCharArray(), 5, previous, current));
+    }
+
+    @Test
+    void bestMatchOnlyAcceptsStrongMatches() {
+        FuzzyMatcher matcher = new FuzzyMatcher();
+        assertEquals("Smith, John", matcher.findBestMatch("smithjon", ROSTER));
+        assertNull(matcher.findBestMatch("qqqqqqqq", ROSTER));
+    }
+
+    @Test
+    void queriesAreSquashedLikeRosterNames() {
+        FuzzyMatcher matcher = new FuzzyMatcher();
+        assertEquals("Núñez, Zoë", matcher.findBestMatch("Núñez Zoë", ROSTER));
+        assertEquals(new ScoredMatch("Doe, Jane", 0), matcher.findMatches("Doe-Jane", ROSTER).get(0));
+    }
+}
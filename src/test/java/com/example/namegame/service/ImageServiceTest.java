@@ -0,0 +1,92 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.Student;
+import com.example.namegame.model.UnmatchedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that watcher batches update only the changed images.
+ */
+class ImageServiceTest {
+    @TempDir
+    Path directory;
+
+    private ImageService service;
+
+    @BeforeEach
+    void loadSection() throws IOException {
+        Files.writeString(directory.resolve("roster.csv"), "Name\n\"Smith, John\"\n\"Doe, Jane\"\n\"Lee, Ann\"\n");
+        writePhoto("smithjohn.jpg");
+        writePhoto("doejane.jpg");
+        writePhoto("qqqqqqqq.jpg");
+        ConfigService.getInstance().setImagesDirectory(directory);
+        service = ImageService.getInstance();
+        assertTrue(service.loadImages());
+        assertEquals(List.of("Doe, Jane", "Smith, John"), rosterNames());
+        assertEquals(List.of("qqqqqqqq.jpg"), unmatchedNames());
+    }
+
+    private void writePhoto(String name) throws IOException {
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "jpg", directory.resolve(name).toFile());
+    }
+
+    private List<String> rosterNames() {
+        return service.getStudents().stream().map(Student::rosterName).sorted().toList();
+    }
+
+    private List<String> unmatchedNames() {
+        return service.getUnmatchedImages().stream().map(UnmatchedImage::filename).sorted().toList();
+    }
+
+    @Test
+    void appliesAddedAndRemovedImages() throws IOException {
+        writePhoto("leeann.jpg");
+        Files.delete(directory.resolve("doejane.jpg"));
+        Files.delete(directory.resolve("qqqqqqqq.jpg"));
+
+        ImageService.PendingChanges pending = new ImageService.PendingChanges();
+        pending.images.add(directory.resolve("leeann.jpg"));
+        pending.images.add(directory.resolve("doejane.jpg"));
+        pending.images.add(directory.resolve("qqqqqqqq.jpg"));
+        service.applyChanges(directory, pending);
+
+        assertEquals(List.of("Lee, Ann", "Smith, John"), rosterNames());
+        assertEquals(List.of(), unmatchedNames());
+    }
+
+    @Test
+    void renamedImageMovesFromUnmatchedToStudents() throws IOException {
+        Files.move(directory.resolve("qqqqqqqq.jpg"), directory.resolve("leeann.jpg"));
+
+        ImageService.PendingChanges pending = new ImageService.PendingChanges();
+        pending.images.add(directory.resolve("qqqqqqqq.jpg"));
+        pending.images.add(directory.resolve("leeann.jpg"));
+        service.applyChanges(directory, pending);
+
+        assertEquals(List.of("Doe, Jane", "Lee, Ann", "Smith, John"), rosterNames());
+        assertEquals(List.of(), unmatchedNames());
+    }
+
+    @Test
+    void ignoresBatchesFromAnotherDirectory(@TempDir Path other) throws IOException {
+        Files.delete(directory.resolve("doejane.jpg"));
+
+        ImageService.PendingChanges pending = new ImageService.PendingChanges();
+        pending.images.add(other.resolve("doejane.jpg"));
+        service.applyChanges(other, pending);
+
+        assertEquals(List.of("Doe, Jane", "Smith, John"), rosterNames());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.namegame.service;
+
+import java.util.Random;
+
+/**
+ * The textbook full-matrix Levenshtein distance, used as the reference the
+ * optimized matching code is checked against.
+ */
+final class LevenshteinReference {
+    private static final String ALPHABET = "abcdeéz";
+
+    private LevenshteinReference() {
+    }
+
+    static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    /**
+     * A random name over a small alphabet, so that near matches are common.
+     */
+    static String randomName(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks when cached match results are reused and when they are invalidated.
+ */
+class MatchCacheServiceTest {
+    private static final MatchCacheService.CachedMatch SMITH = MatchCacheService.CachedMatch.matched("Smith, John");
+
+    @TempDir
+    Path directory;
+
+    private MatchCacheService cache;
+    private Path photo;
+
+    @BeforeEach
+    void createPhoto() throws IOException {
+        cache = MatchCacheService.getInstance();
+        photo = directory.resolve("smithjon_1.jpg");
+        Files.writeString(photo, "photo");
+    }
+
+    @Test
+    void reusesResultForUnchangedFileAndRoster() {
+        cache.endLoad(storeSmith("roster-reuse"));
+
+        MatchCacheService.Load load = cache.beginLoad("roster-reuse");
+        assertEquals(SMITH, load.get(photo));
+        cache.endLoad(load);
+    }
+
+    @Test
+    void changedFileIsAMiss() throws IOException {
+        cache.endLoad(storeSmith("roster-changed"));
+        Files.writeString(photo, "another photo");
+
+        assertNull(cache.beginLoad("roster-changed").get(photo));
+    }
+
+    @Test
+    void touchedFileIsAMiss() throws IOException {
+        cache.endLoad(storeSmith("roster-touched"));
+        Files.setLastModifiedTime(photo, FileTime.fromMillis(Files.getLastModifiedTime(photo).toMillis() + 60_000));
+
+        assertNull(cache.beginLoad("roster-touched").get(photo));
+    }
+
+    @Test
+    void resultsAreKeptPerRoster() {
+        cache.endLoad(storeSmith("roster-first"));
+
+        MatchCacheService.Load other = cache.beginLoad("roster-second");
+        assertNull(other.get(photo));
+        cache.endLoad(other);
+
+        assertEquals(SMITH, cache.beginLoad("roster-first").get(photo));
+    }
+
+    @Test
+    void endLoadDropsImagesTheLoadDidNotSee() {
+        cache.endLoad(storeSmith("roster-pruned"));
+
+        // A load that never looks at the photo, e.g. because it was deleted
+        cache.endLoad(cache.beginLoad("roster-pruned"));
+
+        assertNull(cache.beginLoad("roster-pruned").get(photo));
+    }
+
+    @Test
+    void overlappingLoadsDontPruneEachOther() {
+        cache.endLoad(storeSmith("roster-overlap"));
+
+        MatchCacheService.Load reload = cache.beginLoad("roster-overlap");
+        MatchCacheService.Load other = cache.beginLoad("roster-overlap-other");
+        assertEquals(SMITH, reload.get(photo));
+        cache.endLoad(other);
+        cache.endLoad(reload);
+
+        assertEquals(SMITH, cache.beginLoad("roster-overlap").get(photo));
+    }
+
+    @Test
+    void unmatchedSuggestionsAreCached() {
+        MatchCacheService.Load load = cache.beginLoad("roster-unmatched");
+        List<ScoredMatch> suggestions = List.of(new ScoredMatch("Smith, John", 2));
+        load.put(photo, MatchCacheService.CachedMatch.unmatched(suggestions));
+        cache.endLoad(load);
+
+        MatchCacheService.CachedMatch cached = cache.beginLoad("roster-unmatched").get(photo);
+        assertNotNull(cached);
+        assertNull(cached.rosterName());
+        assertEquals(suggestions, cached.suggestions());
+    }
+
+    @Test
+    void leastRecentlyLoadedRostersAreDropped() {
+        cache.endLoad(storeSmith("roster-oldest"));
+        for (int i = 0; i < 8; i++) {
+            cache.endLoad(cache.beginLoad("roster-newer-" + i));
+        }
+
+        assertNull(cache.beginLoad("roster-oldest").get(photo));
+    }
+
+    private MatchCacheService.Load storeSmith(String fingerprint) {
+        MatchCacheService.Load load = cache.beginLoad(fingerprint);
+        assertNull(load.get(photo));
+        load.put(photo, SMITH);
+        return load;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.example.namegame.service.LevenshteinReference.distance;
+import static com.example.namegame.service.LevenshteinReference.randomName;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the BK-tree against a brute-force scan with plain Levenshtein distance.
+ */
+class NameIndexTest {
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(2);
+        Map<String, String> roster = new HashMap<>();
+        while (roster.size() < 500) {
+            String key = randomName(random, 10);
+            roster.put(key, "Roster " + key);
+        }
+        NameIndex built = NameIndex.build(roster);
+        NameIndex restored = NameIndex.restore(built.nodes());
+
+        for (int round = 0; round < 300; round++) {
+            String query = randomName(random, 10);
+            int limit = 1 + random.nextInt(6);
+            int maxDistance = random.nextInt(2) == 0 ? Integer.MAX_VALUE : random.nextInt(5);
+            List<Integer> expected = bruteForceDistances(roster, query, limit, maxDistance);
+
+            for (NameIndex index : List.of(built, restored)) {
+                List<ScoredMatch> matches = index.nearest(query, limit, maxDistance);
+                assertEquals(expected, matches.stream().map(ScoredMatch::distance).toList(), "query " + query);
+                for (ScoredMatch match : matches) {
+                    String key = match.rosterName().substring("Roster ".length());
+                    assertEquals(distance(query, key), match.distance());
+                }
+            }
+        }
+    }
+
+    /**
+     * The distances of the best matches. Ties may be broken either way, so only distances are compared.
+     */
+    private static List<Integer> bruteForceDistances(Map<String, String> roster, String query, int limit,
+                                                     int maxDistance) {
+        List<Integer> distances = new ArrayList<>();
+        for (String key : roster.keySet()) {
+            int distance = distance(query, key);
+            if (distance <= maxDistance) {
+                distances.add(distance);
+            }
+        }
+        distances.sort(null);
+        return distances.subList(0, Math.min(limit, distances.size()));
+    }
+
+    @Test
+    void exactNameIsFoundAtDistanceZero() {
+        NameIndex index = NameIndex.build(Map.of("smithjohn", "Smith, John", "doejane", "Doe, Jane"));
+        assertEquals(List.of(new ScoredMatch("Smith, John", 0)), index.nearest("smithjohn", 1, 0));
+        assertEquals(List.of(new ScoredMatch("Smith, John", 1)), index.nearest("smithjon", 1, 3));
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        assertTrue(NameIndex.build(Map.of()).nearest("smith", 5, Integer.MAX_VALUE).isEmpty());
+    }
+}
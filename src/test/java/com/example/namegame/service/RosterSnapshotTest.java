@@ -0,0 +1,94 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.ScoredMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RosterSnapshotTest {
+    private static final List<String> NAMES = List.of("Smith, John", "Núñez, Zoë", "Doe, Jane");
+
+    @TempDir
+    Path directory;
+
+    private Path rosterFile;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void writeSnapshot() throws IOException {
+        rosterFile = directory.resolve("roster.csv");
+        Files.writeString(rosterFile, "Name\n\"Smith, John\"\n\"Núñez, Zoë\"\n\"Doe, Jane\"\n");
+        snapshotFile = directory.resolve("roster.snapshot");
+        NameIndex index = NameIndex.build(Map.of("smithjohn", "Smith, John", "nunezzoe", "Núñez, Zoë",
+                                                 "doejane", "Doe, Jane"));
+        new RosterSnapshot("hash-1", NAMES, index).write(snapshotFile, rosterFile);
+    }
+
+    @Test
+    void roundTripsNamesAndIndex() {
+        RosterSnapshot restored = RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-1");
+        assertNotNull(restored);
+        assertEquals("hash-1", restored.fingerprint());
+        assertEquals(NAMES, restored.rosterNames());
+        assertEquals(List.of(new ScoredMatch("Núñez, Zoë", 1)), restored.index().nearest("nunezzo", 1, 3));
+        assertEquals("Doe, Jane", restored.index().source().get("doejane"));
+    }
+
+    @Test
+    void rejectsChangedFingerprint() {
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-2"));
+    }
+
+    @Test
+    void rejectsChangedRosterFileWithoutHashingIt() throws IOException {
+        Files.writeString(rosterFile, "Name\n\"Lee, Ann\"\n");
+        AtomicInteger hashed = new AtomicInteger();
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> {
+            hashed.incrementAndGet();
+            return "hash-1";
+        }));
+        assertEquals(0, hashed.get());
+    }
+
+    @Test
+    void rejectsOtherVersionAndMagic() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        ByteBuffer.wrap(bytes).putInt(4, ByteBuffer.wrap(bytes).getInt(4) + 1);
+        Files.write(snapshotFile, bytes);
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-1"));
+
+        ByteBuffer.wrap(bytes).putInt(4, ByteBuffer.wrap(bytes).getInt(4) - 1).putInt(0, 0);
+        Files.write(snapshotFile, bytes);
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-1"));
+    }
+
+    @Test
+    void ignoresTruncatedSnapshot() throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(bytes, bytes.length - 5));
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-1"));
+    }
+
+    @Test
+    void missingSnapshotAndUnknownFingerprint() throws IOException {
+        Files.delete(snapshotFile);
+        assertNull(RosterSnapshot.read(snapshotFile, rosterFile, () -> "hash-1"));
+
+        new RosterSnapshot(null, NAMES, NameIndex.build(Map.of())).write(snapshotFile, rosterFile);
+        assertFalse(Files.exists(snapshotFile));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SectionLibraryTest {
+    @TempDir
+    Path directory;
+
+    private SectionLibrary library;
+    private Path photo;
+    private FileTime directoryModified;
+
+    @BeforeEach
+    void putSection() throws IOException {
+        Files.writeString(directory.resolve("roster.csv"), "Name\n\"Smith, John\"\n");
+        photo = directory.resolve("smithjohn.jpg");
+        Files.writeString(photo, "photo");
+        directoryModified = Files.getLastModifiedTime(directory);
+
+        library = SectionLibrary.getInstance();
+        library.clear();
+        library.put(SectionLibrary.Section.of(directory, SectionLibrary.Stamp.of(directory),
+            new RosterService.RosterState(List.of("Smith, John"), "hash", NameIndex.build(Map.of())),
+            List.of(new Student("John", "Smith", photo)), List.of()));
+    }
+
+    @Test
+    void reusesUnchangedSection() {
+        SectionLibrary.Section section = library.get(directory);
+        assertNotNull(section);
+        assertSame(section, library.get(directory));
+    }
+
+    @Test
+    void photoReplacedInPlaceMakesSectionStale() throws IOException {
+        Files.writeString(photo, "another photo");
+        Files.setLastModifiedTime(photo, FileTime.fromMillis(Files.getLastModifiedTime(photo).toMillis() + 5000));
+        // Rewriting a file doesn't change the directory's modification time
+        Files.setLastModifiedTime(directory, directoryModified);
+
+        assertNull(library.get(directory));
+    }
+
+    @Test
+    void addedPhotoMakesSectionStale() throws IOException {
+        Files.writeString(directory.resolve("doejane.jpg"), "photo");
+        Files.setLastModifiedTime(directory, directoryModified);
+
+        assertNull(library.get(directory));
+    }
+
+    @Test
+    void editedRosterMakesSectionStale() throws IOException {
+        Files.writeString(directory.resolve("roster.csv"), "Name\n\"Smith, John\"\n\"Doe, Jane\"\n");
+        Files.setLastModifiedTime(directory, directoryModified);
+
+        assertNull(library.get(directory));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.namegame.service;
+
+import com.example.namegame.model.GameStatistics;
+import com.example.namegame.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trips statistics through the journal and the snapshot. The data
+ * directory lives under target/, see the surefire configuration.
+ */
+class StatisticsServiceTest {
+    private static final Student JOHN = new Student("John", "Smith", Path.of("smithjohn.jpg"));
+    private static final Student ZOE = new Student("Zoë", "Núñez", Path.of("nunezzoe.jpg"));
+
+    private StatisticsService service;
+    private Path journal;
+
+    @BeforeEach
+    void resetStatistics() {
+        service = StatisticsService.getInstance();
+        service.reset();
+        journal = ConfigService.getInstance().getDataDirectory().resolve("statistics.journal");
+    }
+
+    private void playSomeGames() {
+        service.recordAnswer(JOHN, true);
+        service.recordAnswer(JOHN, true);
+        service.recordAnswer(ZOE, false);
+        service.recordAnswer(JOHN, false);
+        service.recordAnswer(ZOE, true);
+        service.recordGameComplete(2);
+        service.recordAnswer(JOHN, true);
+        service.recordGameComplete(1);
+    }
+
+    @Test
+    void journalReplaysToSameStatistics() {
+        playSomeGames();
+        List<Object> expected = describe(service.getStatistics());
+        service.flush();
+        assertTrue(Files.exists(journal));
+
+        service.reload();
+        assertEquals(expected, describe(service.getStatistics()));
+        assertEquals(List.of(4, 2, 2, 2), describe(service.getStatistics()).subList(0, 4));
+    }
+
+    @Test
+    void compactedSnapshotLoadsToSameStatistics() {
+        playSomeGames();
+        List<Object> expected = describe(service.getStatistics());
+        service.prepareForImport();
+        assertFalse(Files.exists(journal));
+
+        service.reload();
+        assertEquals(expected, describe(service.getStatistics()));
+    }
+
+    @Test
+    void answersAfterCompactionAreReplayedOnTopOfSnapshot() {
+        playSomeGames();
+        service.prepareForImport();
+        service.recordAnswer(ZOE, false);
+        List<Object> expected = describe(service.getStatistics());
+        service.flush();
+
+        service.reload();
+        assertEquals(expected, describe(service.getStatistics()));
+    }
+
+    @Test
+    void incompleteJournalLinesAreSkipped() throws IOException {
+        playSomeGames();
+        service.flush();
+        List<Object> expected = describe(service.getStatistics());
+        Files.writeString(journal, "999 T1 17\n1000 G\n1001 T", StandardOpenOption.APPEND);
+
+        service.reload();
+        assertEquals(expected, describe(service.getStatistics()));
+    }
+
+    @Test
+    void unflushedAnswersSurviveReload() {
+        service.recordAnswer(JOHN, true);
+        service.reload();
+        assertEquals(1, service.getStatistics().getCorrect(JOHN.id()));
+        service.flush();
+        service.reload();
+        assertEquals(1, service.getStatistics().getCorrect(JOHN.id()));
+    }
+
+    @Test
+    void resetClearsPersistedStatistics() {
+        playSomeGames();
+        service.flush();
+        service.reset();
+        service.reload();
+        assertEquals(List.of(0, 0, 0, 0, 0, 0, 0, 0L, 0, 0, 0, 0L), describe(service.getStatistics()));
+    }
+
+    /**
+     * Lists the totals, then each student's counters, for comparing whole states.
+     */
+    private static List<Object> describe(GameStatistics statistics) {
+        return List.of(
+            statistics.getTotalMatches(), statistics.getTotalMisses(),
+            statistics.getGamesPlayed(), statistics.getBestStreak(),
+            statistics.getCorrect(JOHN.id()), statistics.getIncorrect(JOHN.id()),
+            statistics.getStreak(JOHN.id()), statistics.getLastSeen(JOHN.id()),
+            statistics.getCorrect(ZOE.id()), statistics.getIncorrect(ZOE.id()),
+            statistics.getStreak(ZOE.id()), statistics.getLastSeen(ZOE.id()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.namegame.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class XlsxRosterReaderTest {
+    @TempDir
+    Path directory;
+
+    private Path writeWorkbook(String[][] rows) throws IOException {
+        Path file = directory.resolve("roster.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Roster");
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    if (rows[r][c] != null) {
+                        row.createCell(c).setCellValue(rows[r][c]);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    @Test
+    void readsNameColumnBelowHeader() throws IOException {
+        Path file = writeWorkbook(new String[][] {
+            {"ID", "name", "Email"},
+            {"1", "Smith, John", "js@example.com"},
+            {"2", "Núñez, Zoë", null},
+            {"3", "  ", "blank@example.com"},
+            {"4", " Doe, Jane ", null},
+        });
+        assertEquals(List.of("Smith, John", "Núñez, Zoë", "Doe, Jane"), XlsxRosterReader.readNames(file));
+    }
+
+    @Test
+    void matchesWorkbookModelOnSkippedRowsAndNumbers() throws IOException {
+        Path file = directory.resolve("roster.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(2).setCellValue("Name");
+            sheet.createRow(1).createCell(2).setCellValue("Lee, Ann");
+            // Rows 2 and 3 are missing, and row 4 holds a number
+            sheet.createRow(4).createCell(2).setCellValue(42);
+            sheet.createRow(5).createCell(0).setCellValue("Not a name");
+            workbook.write(out);
+        }
+        assertEquals(List.of("Lee, Ann", "42"), XlsxRosterReader.readNames(file));
+    }
+
+    @Test
+    void returnsNullWithoutNameColumn() throws IOException {
+        assertNull(XlsxRosterReader.readNames(writeWorkbook(new String[][] {{"ID", "Email"}, {"1", "x"}})));
+    }
+
+    @Test
+    void readsWorkbookWithoutStylesPart() throws IOException {
+        Path file = directory.resolve("minimal.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            put(zip, "[Content_Types].xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">
+                <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>
+                <Default Extension="xml" ContentType="application/xml"/>
+                <Override PartName="/xl/workbook.xml" \
+                ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>
+                <Override PartName="/xl/worksheets/sheet1.xml" \
+                ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>
+                </Types>""");
+            put(zip, "_rels/.rels", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+                <Relationship Id="rId1" Target="xl/workbook.xml" \
+                Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument"/>
+                </Relationships>""");
+            put(zip, "xl/workbook.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+                <sheets><sheet name="Roster" sheetId="1" r:id="rId1"/></sheets>
+                </workbook>""");
+            put(zip, "xl/_rels/workbook.xml.rels", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+                <Relationship Id="rId1" Target="worksheets/sheet1.xml" \
+                Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet"/>
+                </Relationships>""");
+            // The s attributes point at styles that don't exist
+            put(zip, "xl/worksheets/sheet1.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+                <row r="1"><c r="A1" t="inlineStr" s="1"><is><t>Name</t></is></c></row>
+                <row r="2"><c r="A2" t="inlineStr" s="1"><is><t>Smith, John</t></is></c></row>
+                <row r="3"><c r="A3" s="2"><v>7</v></c></row>
+                </sheetData></worksheet>""");
+        }
+        assertEquals(List.of("Smith, John", "7"), XlsxRosterReader.readNames(file));
+    }
+
+    private static void put(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
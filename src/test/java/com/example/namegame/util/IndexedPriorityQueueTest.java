@@ -0,0 +1,114 @@
+package com.example.namegame.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedPriorityQueueTest {
+    @Test
+    void pollsInPriorityThenKeyOrder() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(5);
+        queue.offer(3, 10);
+        queue.offer(1, 5);
+        queue.offer(4, 5);
+        queue.offer(0, 20);
+        assertEquals(4, queue.size());
+        assertEquals(1, queue.poll());
+        assertEquals(4, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(0, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::poll);
+    }
+
+    @Test
+    void offerOfQueuedKeyUpdatesPriority() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(3);
+        queue.offer(0, 1);
+        queue.offer(1, 2);
+        queue.offer(0, 3);
+        assertEquals(2, queue.size());
+        assertEquals(3, queue.priorityOf(0));
+        assertEquals(1, queue.peek());
+    }
+
+    @Test
+    void removeAndContains() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(3);
+        queue.offer(2, 7);
+        queue.remove(2);
+        queue.remove(2);
+        assertFalse(queue.contains(2));
+        assertThrows(NoSuchElementException.class, () -> queue.priorityOf(2));
+        assertThrows(NoSuchElementException.class, () -> queue.update(2, 1));
+    }
+
+    @Test
+    void smallestLeavesQueueUnchanged() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(10);
+        for (int key = 0; key < 10; key++) {
+            queue.offer(key, (key * 7) % 10);
+        }
+        assertArrayEquals(new int[] {0, 3, 6}, queue.smallest(3));
+        assertEquals(10, queue.smallest(50).length);
+        assertEquals(0, queue.smallest(0).length);
+        assertEquals(10, queue.size());
+        assertEquals(0, queue.poll());
+    }
+
+    @Test
+    void matchesReferenceUnderRandomOperations() {
+        int capacity = 64;
+        Random random = new Random(3);
+        IndexedPriorityQueue queue = new IndexedPriorityQueue(capacity);
+        Map<Integer, Long> priorities = new HashMap<>();
+        TreeSet<Integer> reference = new TreeSet<>(
+            Comparator.comparingLong((Integer key) -> priorities.get(key)).thenComparingInt(key -> key));
+
+        for (int step = 0; step < 50_000; step++) {
+            int key = random.nextInt(capacity);
+            switch (random.nextInt(5)) {
+                case 0, 1 -> {
+                    if (priorities.containsKey(key)) {
+                        reference.remove(key);
+                    }
+                    priorities.put(key, (long) random.nextInt(100));
+                    reference.add(key);
+                    queue.offer(key, priorities.get(key));
+                }
+                case 2 -> {
+                    if (priorities.containsKey(key)) {
+                        reference.remove(key);
+                        priorities.remove(key);
+                    }
+                    queue.remove(key);
+                }
+                case 3 -> {
+                    if (!reference.isEmpty()) {
+                        int first = reference.pollFirst();
+                        priorities.remove(first);
+                        assertEquals(first, queue.poll());
+                    }
+                }
+                default -> {
+                    int count = random.nextInt(6);
+                    int[] expected = reference.stream().limit(count).mapToInt(Integer::intValue).toArray();
+                    assertArrayEquals(expected, queue.smallest(count));
+                }
+            }
+            assertEquals(reference.size(), queue.size());
+            assertEquals(priorities.containsKey(key), queue.contains(key));
+        }
+    }
+}
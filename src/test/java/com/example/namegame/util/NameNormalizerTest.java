@@ -0,0 +1,98 @@
+package com.example.namegame.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the squashed keys against the regular expressions they replaced,
+ * which are kept here as the reference for ASCII names.
+ */
+class NameNormalizerTest {
+    private static final String NAME_CHARACTERS = "abcxyzABCXYZ0189 \t',.-";
+    private static final NameNormalizer NORMALIZER = NameNormalizer.DEFAULT;
+
+    @Test
+    void asciiNamesSquashLikeTheRegex() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String last = randomName(random, NAME_CHARACTERS);
+            String first = randomName(random, NAME_CHARACTERS);
+            String expected = legacySquash(last + first);
+            assertEquals(expected, NORMALIZER.squash(last, first), () -> last + "|" + first);
+            assertEquals(expected, NORMALIZER.squash(last + first), () -> last + first);
+            assertEquals(expected, new NameNormalizer(false).squash(last, first), () -> last + "|" + first);
+        }
+    }
+
+    @Test
+    void filenamesWithoutWhitespaceSquashLikeTheRegex() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String filename = randomName(random, "abcXYZ09',.-_") + (random.nextBoolean() ? ".jpg" : "");
+            assertEquals(legacySquashFilename(filename), NORMALIZER.squashFilename(filename), filename);
+        }
+        assertEquals("smithjohn", NORMALIZER.squashFilename("SmithJohn_12345.jpg"));
+        assertEquals("smithjohn", NORMALIZER.squashFilename("Smith John.jpg"));
+    }
+
+    @Test
+    void accentsAreFolded() {
+        assertEquals("nunezzoe", NORMALIZER.squash("Núñez", "Zoë"));
+        assertEquals("zoenunez", NORMALIZER.squash("Zoë Núñez"));
+        assertEquals("nunezzoe", NORMALIZER.squashFilename("NúñezZoë_100.jpg"));
+        // Decomposed input, typographic apostrophes and non-breaking spaces
+        assertEquals("zoeobrien", NORMALIZER.squash("Zoe\u0308 O\u2019Brien\u00A0"));
+        assertEquals("strasseoland", NORMALIZER.squash("Straße Øland"));
+        assertEquals("aeo", NORMALIZER.squash("ǢǾ"));
+        assertEquals("núñezzoë", new NameNormalizer(false).squash("Núñez", "Zoë"));
+    }
+
+    @Test
+    void accentedLettersFoldLikeTheirBaseLetter() {
+        for (char c = 'À'; c <= 'ɏ'; c++) {
+            String letter = String.valueOf(c);
+            String folded = NORMALIZER.squash(letter);
+            String decomposed = Normalizer.normalize(letter, Normalizer.Form.NFD);
+            if (decomposed.length() > 1) {
+                // A base letter plus accents folds like the base letter
+                assertEquals(NORMALIZER.squash(decomposed.substring(0, 1)), folded, letter);
+            } else {
+                // Letters like ŋ or ƒ have no ASCII form and are only lower-cased
+                assertEquals(folded, NORMALIZER.squash(letter.toLowerCase(Locale.ROOT)), letter);
+            }
+        }
+    }
+
+    @Test
+    void squashedKeysComeBackUnchanged() {
+        String key = "smithjohn42";
+        assertSame(key, NORMALIZER.squash(key));
+        assertEquals("", NORMALIZER.squash(null));
+    }
+
+    private static String randomName(Random random, String alphabet) {
+        char[] name = new char[random.nextInt(12)];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(name);
+    }
+
+    private static String legacySquash(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[\\s',.-]", "");
+    }
+
+    private static String legacySquashFilename(String filename) {
+        int dotIndex = filename.lastIndexOf('.');
+        String withoutExt = dotIndex > 0 ? filename.substring(0, dotIndex) : filename;
+        int underscoreIndex = withoutExt.indexOf('_');
+        String namePart = underscoreIndex > 0 ? withoutExt.substring(0, underscoreIndex) : withoutExt;
+        return namePart.toLowerCase(Locale.ROOT).replaceAll("[',.-]", "");
+    }
+}